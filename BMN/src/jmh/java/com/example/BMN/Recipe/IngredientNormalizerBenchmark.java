@@ -0,0 +1,110 @@
+package com.example.BMN.Recipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IngredientNormalizer 마이크로 벤치마크 (`./gradlew jmh`)
+ *
+ * - legacy*   : 기존 정규식 구현 (replaceAll 체인, 호출마다 Pattern 컴파일)
+ * - scan*     : 한 번 훑기 구현 (캐시 없이)
+ * - memo*     : 공개 API (캐시 적중)
+ * 호출당 시간은 ns/op, 할당량은 gc 프로파일러의 gc.alloc.rate.norm(B/op) 으로 본다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngredientNormalizerBenchmark {
+
+    // 레시피 재료 입력에서 흔한 형태 (단위/괄호/대소문자/자모 분리/특수문자)
+    private static final String[] INPUTS = {
+            "양파", "대파 1대", "  다진 마늘 2큰술 ", "간장 3 큰술", "설탕 1/2작은술",
+            "돼지고기(목살) 300g", "양파 1/2개(다진 것)", "우유 200ml", "물 1L", "밥 1컵",
+            "Olive Oil", "Mozzarella Cheese 100g", "청양고추*2", "소금 약간", "후추, 약간",
+            "가지", "계란 2개", "두부 1모", "김치 (잘 익은 것)", "참기름 1 작은술"
+    };
+
+    private int i;
+
+    @Setup
+    public void warmMemo() {
+        for (String s : INPUTS) {
+            IngredientNormalizer.normalizeOne(s);
+            IngredientNormalizer.searchKeyword(s);
+        }
+    }
+
+    private String next() {
+        String s = INPUTS[i];
+        i = (i + 1) % INPUTS.length;
+        return s;
+    }
+
+    /* ---------------- normalizeOne ---------------- */
+
+    @Benchmark
+    public String legacyNormalizeOne() {
+        return legacyNormalizeOne(next());
+    }
+
+    @Benchmark
+    public String scanNormalizeOne() {
+        return IngredientNormalizer.normalizeOneUncached(next());
+    }
+
+    @Benchmark
+    public String memoNormalizeOne() {
+        return IngredientNormalizer.normalizeOne(next());
+    }
+
+    /* ---------------- 검색 키워드 ---------------- */
+
+    @Benchmark
+    public String legacySearchKeyword() {
+        return legacySearchKeyword(next());
+    }
+
+    @Benchmark
+    public String scanSearchKeyword() {
+        return IngredientNormalizer.searchKeywordUncached(next());
+    }
+
+    @Benchmark
+    public String memoSearchKeyword() {
+        return IngredientNormalizer.searchKeyword(next());
+    }
+
+    /* ---------------- 비교용 기존 구현 ---------------- */
+
+    static String legacyNormalizeOne(String raw) {
+        if (raw == null) return "";
+        String s = raw.trim().toLowerCase();
+        s = Normalizer.normalize(s, Normalizer.Form.NFC);
+        s = s.replaceAll("[^0-9a-z가-힣\\s]", "");
+        s = s.replaceAll("\\s+", " ");
+        return s.trim();
+    }
+
+    static String legacySearchKeyword(String ingredient) {
+        String s = ingredient.replaceAll("\\(.*?\\)", " ")
+                .replaceAll("\\d+\\s*(g|kg|ml|L|개|큰술|작은술|컵)", " ")
+                .replaceAll("[^가-힣a-zA-Z0-9\\s]", " ")
+                .replaceAll("\\s{2,}", " ")
+                .trim();
+        return s.isBlank() ? ingredient : s;
+    }
+}
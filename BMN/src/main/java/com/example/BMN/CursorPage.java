@@ -0,0 +1,75 @@
+package com.example.BMN;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 페이지 응답
+ *
+ * - content: 이번 페이지 항목
+ * - next: 다음 페이지 요청 시 그대로 넘길 불투명 커서 (?after=next), 마지막 페이지면 null
+ * - last: 마지막 페이지 여부
+ * - total: 전체 개수 (요청 시 count=true 일 때만 계산, 아니면 null)
+ *
+ * 커서는 정렬 키 + id 를 '|' 로 이어 붙여 URL-safe Base64 로 감싼 문자열이다.
+ * OFFSET 없이 인덱스에서 바로 다음 위치를 찾으므로 몇 번째 페이지든 비용이 같다.
+ */
+public record CursorPage<T>(List<T> content, String next, boolean last, Long total) {
+
+    private static final String SEP = "|";
+
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append(SEP);
+            sb.append(parts[i] == null ? "" : parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 커서를 풀어 정렬 키 목록으로 돌려준다. 형식이 맞지 않으면 IllegalArgumentException */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedParts) throw new IllegalArgumentException("invalid cursor");
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+
+    /** (시각, id) 커서 */
+    public record TimeId(LocalDateTime at, Long id) {}
+
+    /** (시각, id) 커서를 푼다. 값이 잘못되었으면 IllegalArgumentException (조작된 커서 → 400) */
+    public static TimeId decodeTimeId(String cursor) {
+        String[] parts = decode(cursor, 2);
+        try {
+            return new TimeId(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+
+    /**
+     * size + 1 개를 조회한 결과로 페이지를 만든다. (넘친 1개로 다음 페이지 존재 여부 판단)
+     * @param nextCursorOf 마지막 항목으로 다음 커서를 만드는 함수
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Long total,
+                                       Function<T, String> nextCursorOf) {
+        boolean hasMore = fetched.size() > size;
+        List<T> content = hasMore ? List.copyOf(fetched.subList(0, size)) : fetched;
+        String next = (hasMore && !content.isEmpty()) ? nextCursorOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(content, next, !hasMore, total);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), next, last, total);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.BMN.Database;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+
+/**
+ * Completion markers for one-off startup migrations (table {@code app_migration}).
+ *
+ * A runner checks {@link #isDone} before doing any work and calls {@link #markDone} once a pass
+ * finished with nothing left to migrate, so later startups skip it with a single primary-key lookup.
+ * Delete the row to force a migration to run again.
+ */
+@Component
+public class MigrationMarkers {
+
+    private final JdbcTemplate jdbc;
+
+    public MigrationMarkers(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public boolean isDone(String name) {
+        Integer n = jdbc.queryForObject("SELECT COUNT(*) FROM app_migration WHERE name = ?", Integer.class, name);
+        return n != null && n > 0;
+    }
+
+    public void markDone(String name) {
+        try {
+            jdbc.update("INSERT INTO app_migration (name, completed_at) VALUES (?, ?)",
+                    name, new Timestamp(System.currentTimeMillis()));
+        } catch (DataAccessException e) {
+            // 다른 인스턴스가 먼저 기록한 경우
+            if (!isDone(name)) throw e;
+        }
+    }
+}
@@ -19,8 +19,16 @@ public class Image {
     private String filename;
     private String contentType;
 
-    @Lob  // Binary Large Object (BLOB)로 저장
-    @Column(nullable = false)
+    // 파일 내용은 BlobStore 에 저장 (콘텐츠 SHA-256 키)
+    @Column(name = "blob_key", length = 64)
+    private String blobKey;
+
+    @Column(name = "blob_size")
+    private Long blobSize;
+
+    // 레거시: BlobStore 도입 이전 행의 바이트 (BlobMigrationRunner 가 옮긴 뒤 NULL)
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
     private byte[] data;
 
 }
@@ -1,5 +1,9 @@
 package com.example.BMN.Image;
 
+import com.example.BMN.storage.BlobResponses;
+import com.example.BMN.storage.BlobStore;
+import com.example.BMN.storage.ImageVariantService;
+import com.example.BMN.storage.StoredBlob;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.*;
@@ -16,9 +20,13 @@ import java.util.Optional;
 public class ImageController {
 
     private final ImageService imageService;
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
 
-    public ImageController(ImageService imageService) {
+    public ImageController(ImageService imageService, BlobStore blobStore, ImageVariantService imageVariantService) {
         this.imageService = imageService;
+        this.blobStore = blobStore;
+        this.imageVariantService = imageVariantService;
     }
 
     @PostMapping("/upload")
@@ -27,8 +35,30 @@ public class ImageController {
         return ResponseEntity.ok(new ImageDTO(image.getId(), image.getFilename()));
     }
 
-    public ResponseEntity<?> downloadImage(@PathVariable Long id){
+    @GetMapping("/{id}")
+    public ResponseEntity<?> downloadImage(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        Optional<ImageRepository.ImageMeta> meta = imageService.getImageMeta(id);
+        if (meta.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Image not found");
+        }
+
+        ImageRepository.ImageMeta m = meta.get();
+        if (m.getBlobKey() != null) {
+            StoredBlob blob = imageVariantService.resolve(
+                    new StoredBlob(m.getBlobKey(), m.getBlobSize(), m.getContentType()), width);
+            // 변형이 아직 없어 원본을 대신 줄 때는 immutable 로 캐시하지 않는다.
+            return BlobResponses.serve(blobStore, blob,
+                    ImageVariantService.isPending(blob, width) ? null : version, ifNoneMatch, m.getFilename());
+        }
+
+        // 레거시 행(아직 BlobStore 로 옮기지 않은 경우): 기존 방식대로 바이트 응답
         return imageService.getImage(id)
+                .filter(image -> image.getData() != null)
                 .<ResponseEntity<?>>map(image -> {
                     ByteArrayResource resource = new ByteArrayResource(image.getData());
 
@@ -2,8 +2,25 @@ package com.example.BMN.Image;
 
 import org.hibernate.type.descriptor.converter.spi.JpaAttributeConverter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ImageRepository extends JpaRepository<Image, Long> {
+
+    // 다운로드용 메타데이터만 조회 (레거시 data 컬럼은 읽지 않음)
+    @Query("select i.id as id, i.filename as filename, i.contentType as contentType, " +
+            "i.blobKey as blobKey, i.blobSize as blobSize from Image i where i.id = :id")
+    Optional<ImageMeta> findMetaById(@Param("id") Long id);
+
+    interface ImageMeta {
+        Long getId();
+        String getFilename();
+        String getContentType();
+        String getBlobKey();
+        Long getBlobSize();
+    }
 }
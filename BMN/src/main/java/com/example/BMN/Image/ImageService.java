@@ -1,5 +1,8 @@
 package com.example.BMN.Image;
 
+import com.example.BMN.storage.BlobStore;
+import com.example.BMN.storage.ImageVariantService;
+import com.example.BMN.storage.StoredBlob;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -9,18 +12,25 @@ import java.util.Optional;
 @Service
 public class ImageService {
     private final ImageRepository imageRepository;
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
 
-    public ImageService(ImageRepository imageRepository) {
+    public ImageService(ImageRepository imageRepository, BlobStore blobStore, ImageVariantService imageVariantService) {
 
         this.imageRepository = imageRepository;
+        this.blobStore = blobStore;
+        this.imageVariantService = imageVariantService;
     }
 
-    // 이미지 저장
+    // 이미지 저장 (바이트는 BlobStore, 행에는 키만)
     public Image saveImage(MultipartFile file) throws IOException {
+        StoredBlob blob = blobStore.put(file.getBytes(), file.getContentType());
+        imageVariantService.schedule(blob.key());
         Image image = Image.builder()
                 .filename(file.getOriginalFilename())
-                .contentType(file.getContentType())
-                .data(file.getBytes())
+                .contentType(blob.contentType())
+                .blobKey(blob.key())
+                .blobSize(blob.size())
                 .build();
         return imageRepository.save(image);
     }
@@ -29,4 +39,9 @@ public class ImageService {
    public Optional<Image> getImage(Long id){
         return imageRepository.findById(id);
    }
+
+    // 다운로드용 메타데이터
+    public Optional<ImageRepository.ImageMeta> getImageMeta(Long id) {
+        return imageRepository.findMetaById(id);
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.BMN.Ingredient;
+
+import com.example.BMN.Recipe.RecipeIngredientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 자주 쓰이는 재료의 네이버 최저가를 주기적으로 ingredient_price_snapshot 에 쌓는 배치
+ *
+ * - 대상: recipe_ingredient.nameNorm 사용 빈도 상위 app.price.refresh-top-n 개
+ * - 최근 app.price.refresh-min-age-hours 안에 기록된 키워드는 건너뛴다.
+ * - 한 번에 하나씩, app.price.refresh-interval-ms 간격으로 호출 (사용자 요청 몫의 호출 한도를 남겨 두도록)
+ * - 스케줄러 스레드를 붙잡지 않도록 비동기로 실행 (끝나기 전에는 다음 주기를 건너뜀)
+ * - 보관 기간(app.price.history-days)이 지난 기록은 id 순 배치로 정리
+ */
+@Slf4j
+@Component
+public class IngredientPriceRefreshJob {
+
+    private static final int PURGE_BATCH = 500;
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final IngredientPriceSnapshotRepository snapshotRepository;
+    private final IngredientPriceService priceService;
+    private final NaverShoppingService naverShoppingService;
+    private final int topN;
+    private final int minAgeHours;
+    private final long intervalMs;
+    private final int historyDays;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public IngredientPriceRefreshJob(RecipeIngredientRepository recipeIngredientRepository,
+                                     IngredientPriceSnapshotRepository snapshotRepository,
+                                     IngredientPriceService priceService,
+                                     NaverShoppingService naverShoppingService,
+                                     @Value("${app.price.refresh-top-n:200}") int topN,
+                                     @Value("${app.price.refresh-min-age-hours:12}") int minAgeHours,
+                                     @Value("${app.price.refresh-interval-ms:500}") long intervalMs,
+                                     @Value("${app.price.history-days:180}") int historyDays) {
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.priceService = priceService;
+        this.naverShoppingService = naverShoppingService;
+        this.topN = topN;
+        this.minAgeHours = minAgeHours;
+        this.intervalMs = intervalMs;
+        this.historyDays = historyDays;
+    }
+
+    /**
+     * 스케줄러 스레드는 작업을 시작만 하고 바로 돌아온다. (기본 스케줄러는 스레드 하나라
+     * 여기서 기다리면 SSE heartbeat, 조회수 flush 등 다른 @Scheduled 작업이 모두 밀린다)
+     * DB 작업은 boundedElastic, 호출 간격은 Reactor 타이머에서 처리한다.
+     */
+    @Scheduled(cron = "${app.price.refresh-cron:0 15 */6 * * *}")
+    public void refresh() {
+        if (topN <= 0 || !running.compareAndSet(false, true)) return;
+        long started = System.currentTimeMillis();
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger total = new AtomicInteger();
+
+        Mono.fromCallable(this::targets)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(targets -> total.set(targets.size()))
+                .flatMapMany(Flux::fromIterable)
+                // 하나씩 순서대로 (concatMap + 간격) → 업스트림 호출 한도를 조금씩만 사용
+                .delayElements(Duration.ofMillis(Math.max(0, intervalMs)))
+                .concatMap(kw -> naverShoppingService.search(kw, 20, "sim", "used:rental")
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(resp -> {
+                            if (priceService.record(kw, resp).isPresent()) recorded.incrementAndGet();
+                        }))
+                .then(Mono.fromRunnable(() -> log.info("Ingredient price refresh: {} of {} keywords recorded ({} ms)",
+                        recorded.get(), total.get(), System.currentTimeMillis() - started)))
+                .onErrorResume(e -> {
+                    log.warn("Ingredient price refresh failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.fromRunnable(this::purgeOld).subscribeOn(Schedulers.boundedElastic()))
+                .doFinally(signal -> running.set(false))
+                .subscribe();
+    }
+
+    private List<String> targets() {
+        List<String> top = recipeIngredientRepository.findTopNameNorms(PageRequest.of(0, topN));
+        Set<String> fresh = top.isEmpty() ? Set.of() : new HashSet<>(snapshotRepository.findKeywordsCapturedSince(
+                top, LocalDateTime.now().minusHours(Math.max(0, minAgeHours))));
+        return top.stream()
+                .filter(k -> k != null && !k.isBlank() && !fresh.contains(k))
+                .toList();
+    }
+
+    private void purgeOld() {
+        if (historyDays <= 0) return;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(historyDays);
+        int deleted = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Long> ids = snapshotRepository.findExpiredIds(cutoff, lastId, PageRequest.of(0, PURGE_BATCH));
+                if (ids.isEmpty()) break;
+                snapshotRepository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            }
+        } catch (Exception e) {
+            log.warn("Ingredient price history purge failed after {} rows: {}", deleted, e.getMessage());
+            return;
+        }
+        if (deleted > 0) {
+            log.info("Ingredient price history: deleted {} snapshots older than {} days", deleted, historyDays);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.BMN.Ingredient;
+
+import java.util.List;
+
+/**
+ * 재료 하나의 가격 비교 결과 (/api/price/compare/stream 의 NDJSON 한 줄)
+ *
+ * @param keyword 정규화된 검색 키워드 (/compare 응답의 Map 키와 같음)
+ * @param index   요청한 재료 순서 (스트림은 완료 순으로 내보내므로 화면 정렬용)
+ * @param items   기본순 상위 n개
+ */
+public record IngredientPriceResult(String keyword, int index, List<NaverShopResponseDTO.Item> items) {
+}
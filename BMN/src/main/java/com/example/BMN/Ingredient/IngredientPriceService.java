@@ -0,0 +1,140 @@
+package com.example.BMN.Ingredient;
+
+import com.example.BMN.Recipe.RecipeIngredientIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 재료 가격 기록 조회/저장 (ingredient_price_snapshot)
+ *
+ * 조회는 모두 로컬 DB 에서만 한다. (네이버 호출은 IngredientPriceRefreshJob 만)
+ * 키워드는 RecipeIngredient.nameNorm 과 같은 규칙으로 정규화해서 찾는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class IngredientPriceService {
+
+    public static final int HISTORY_MAX = 1000;
+
+    private final IngredientPriceSnapshotRepository snapshotRepository;
+
+    public record PricePoint(LocalDateTime capturedAt, Integer lowestPrice) {}
+
+    /**
+     * 레시피 예상 비용 (재료별 최신 최저가 합)
+     * 재료 행에 수량 정보가 없으므로 재료마다 상품 1개 가격으로 계산한다.
+     *
+     * @param total   가격을 아는 재료 합계 (하나도 없으면 null)
+     * @param prices  재료 키워드 → 최저가 (입력 순서)
+     * @param missing 가격 기록이 없는 키워드
+     */
+    public record Estimate(Integer total, Map<String, Integer> prices, List<String> missing) {}
+
+    public static String keyOf(String ingredient) {
+        return RecipeIngredientIndex.normOf(ingredient, null);
+    }
+
+    /** 현재 최저가 (가장 최근 기록) */
+    @Transactional(readOnly = true)
+    public Optional<IngredientPriceSnapshot> lowest(String ingredient) {
+        if (ingredient == null || ingredient.isBlank()) return Optional.empty();
+        return snapshotRepository.findFirstByKeywordOrderByCapturedAtDescIdDesc(keyOf(ingredient));
+    }
+
+    /** 최근 days 일 가격 추이 (오래된 순, 최대 HISTORY_MAX 개) */
+    @Transactional(readOnly = true)
+    public List<PricePoint> history(String ingredient, int days) {
+        if (ingredient == null || ingredient.isBlank()) return List.of();
+        LocalDateTime since = LocalDateTime.now().minusDays(Math.max(1, days));
+        return snapshotRepository.findHistory(keyOf(ingredient), since, PageRequest.of(0, HISTORY_MAX))
+                .stream()
+                .map(s -> new PricePoint(s.getCapturedAt(), s.getLowestPrice()))
+                .toList();
+    }
+
+    /** 정규화된 키워드(nameNorm) 목록으로 예상 비용 계산 */
+    @Transactional(readOnly = true)
+    public Estimate estimate(Collection<String> nameNorms) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String n : nameNorms) {
+            if (n != null && !n.isBlank()) keys.add(n);
+        }
+        if (keys.isEmpty()) return new Estimate(null, Map.of(), List.of());
+
+        Map<String, Integer> latest = new HashMap<>();
+        for (IngredientPriceSnapshot s : snapshotRepository.findLatestByKeywordIn(keys)) {
+            latest.put(s.getKeyword(), s.getLowestPrice());
+        }
+
+        Map<String, Integer> prices = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        long total = 0;
+        for (String k : keys) {
+            Integer p = latest.get(k);
+            if (p == null) {
+                missing.add(k);
+            } else {
+                prices.put(k, p);
+                total += p;
+            }
+        }
+        Integer sum = prices.isEmpty() ? null : (int) Math.min(Integer.MAX_VALUE, total);
+        return new Estimate(sum, prices, missing);
+    }
+
+    /** 네이버 검색 결과에서 최저가 기록 한 행 저장 (가격 있는 상품이 없으면 저장하지 않음) */
+    @Transactional
+    public Optional<IngredientPriceSnapshot> record(String keyword, NaverShopResponseDTO resp) {
+        if (resp == null || resp.items == null) return Optional.empty();
+        NaverShopResponseDTO.Item best = null;
+        int bestPrice = Integer.MAX_VALUE;
+        int sampled = 0;
+        for (NaverShopResponseDTO.Item it : resp.items) {
+            int p = parsePrice(it.lprice);
+            if (p <= 0) continue;
+            sampled++;
+            if (p < bestPrice) {
+                bestPrice = p;
+                best = it;
+            }
+        }
+        if (best == null) return Optional.empty();
+
+        IngredientPriceSnapshot s = new IngredientPriceSnapshot();
+        s.setKeyword(keyword);
+        s.setLowestPrice(bestPrice);
+        s.setProductTitle(truncate(stripTags(best.title), 500));
+        s.setMallName(truncate(best.mallName, 200));
+        s.setLink(truncate(best.link, 1000));
+        s.setSampleSize(sampled);
+        s.setCapturedAt(LocalDateTime.now());
+        return Optional.of(snapshotRepository.save(s));
+    }
+
+    private static int parsePrice(String p) {
+        if (p == null) return -1;
+        try { return Integer.parseInt(p.trim()); }
+        catch (Exception e) { return -1; }
+    }
+
+    private static String stripTags(String s) {
+        return s == null ? null : s.replaceAll("<[^>]+>", "").trim();
+    }
+
+    private static String truncate(String s, int max) {
+        return (s == null || s.length() <= max) ? s : s.substring(0, max);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.BMN.Ingredient;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재료(정규화 키워드)별 네이버 쇼핑 최저가 기록
+ *
+ * - IngredientPriceRefreshJob 이 자주 쓰이는 재료를 주기적으로 조회해 한 행씩 쌓는다.
+ * - 현재 최저가 = 키워드의 가장 최근 행, 가격 추이 = 키워드의 기간 내 행들
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "ingredient_price_snapshot",
+        indexes = {
+                // 키워드별 최신 행 / 기간 조회
+                @Index(name = "idx_price_snapshot_keyword_time", columnList = "keyword, capturedAt, id")
+        })
+public class IngredientPriceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String keyword;         // RecipeIngredient.nameNorm
+
+    @Column(nullable = false)
+    private Integer lowestPrice;    // 조회 결과 중 최저 lprice (원)
+
+    @Column(length = 500)
+    private String productTitle;    // 최저가 상품명 (태그 제거)
+
+    @Column(length = 200)
+    private String mallName;
+
+    @Column(length = 1000)
+    private String link;
+
+    private Integer sampleSize;     // 최저가 계산에 쓴 상품 수
+
+    @Column(nullable = false)
+    private LocalDateTime capturedAt;
+}
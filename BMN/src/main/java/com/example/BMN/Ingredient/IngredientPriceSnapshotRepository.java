@@ -0,0 +1,38 @@
+package com.example.BMN.Ingredient;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IngredientPriceSnapshotRepository extends JpaRepository<IngredientPriceSnapshot, Long> {
+
+    /** 키워드의 가장 최근 기록 (현재 최저가) */
+    Optional<IngredientPriceSnapshot> findFirstByKeywordOrderByCapturedAtDescIdDesc(String keyword);
+
+    /** 가격 추이: since 이후 기록 (오래된 순) */
+    @Query("select s from IngredientPriceSnapshot s where s.keyword = :keyword and s.capturedAt >= :since " +
+            "order by s.capturedAt asc, s.id asc")
+    List<IngredientPriceSnapshot> findHistory(@Param("keyword") String keyword,
+                                              @Param("since") LocalDateTime since,
+                                              Pageable pageable);
+
+    /** 여러 키워드의 최신 기록을 한 번에 (레시피 예상 비용 계산용) */
+    @Query("select s from IngredientPriceSnapshot s where s.keyword in :keywords and s.id = " +
+            "(select max(s2.id) from IngredientPriceSnapshot s2 where s2.keyword = s.keyword)")
+    List<IngredientPriceSnapshot> findLatestByKeywordIn(@Param("keywords") Collection<String> keywords);
+
+    /** 최근 since 이후 기록이 있는 키워드 (갱신 주기 내라 다시 조회하지 않을 대상) */
+    @Query("select distinct s.keyword from IngredientPriceSnapshot s where s.keyword in :keywords and s.capturedAt >= :since")
+    List<String> findKeywordsCapturedSince(@Param("keywords") Collection<String> keywords,
+                                           @Param("since") LocalDateTime since);
+
+    /** 보관 기간이 지난 기록 정리용 (id 순 배치) */
+    @Query("select s.id from IngredientPriceSnapshot s where s.capturedAt < :cutoff and s.id > :afterId order by s.id asc")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId, Pageable pageable);
+}
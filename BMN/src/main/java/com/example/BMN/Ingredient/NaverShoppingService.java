@@ -1,27 +1,42 @@
 // src/main/java/com/example/BMN/Ingredient/NaverShoppingService.java
 package com.example.BMN.Ingredient;
 
+import com.example.BMN.Recipe.IngredientNormalizer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * 네이버 쇼핑 검색 프록시
+ *
+ * - 재료별 검색을 동시에 최대 naver.api.concurrency 개까지 병렬로 (전체 지연 ≈ 가장 느린 호출 하나)
+ * - 같은 (키워드, display, sort, exclude) 는 PriceLookupCache 로 TTL 캐시 + 진행 중 호출 공유
+ * - 실제 업스트림 호출 전에 TokenBucketRateLimiter 로 호출 한도를 지킨다.
+ */
 @Slf4j
 @Service
 public class NaverShoppingService {
 
     private final WebClient webClient;
+    private final PriceLookupCache cache;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final int concurrency;
 
     public NaverShoppingService(
             @Value("${naver.api.base-url}") String baseUrl,
             @Value("${naver.api.client-id}") String clientId,
-            @Value("${naver.api.client-secret}") String clientSecret
+            @Value("${naver.api.client-secret}") String clientSecret,
+            @Value("${naver.api.concurrency:8}") int concurrency,
+            PriceLookupCache cache,
+            TokenBucketRateLimiter rateLimiter
     ) {
         this.webClient = WebClient.builder()
                 .baseUrl(baseUrl)
@@ -29,84 +44,93 @@ public class NaverShoppingService {
                 .defaultHeader("X-Naver-Client-Secret", clientSecret)
                 .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
                 .build();
+        this.cache = cache;
+        this.rateLimiter = rateLimiter;
+        this.concurrency = Math.max(1, concurrency);
     }
 
-    public NaverShopResponseDTO searchOnce(String query, Integer display, String sort, String exclude) {
-        try {
-            WebClient.RequestHeadersSpec<?> req = webClient.get()
-                    .uri(uri -> {
-                        var b = uri.path("/shop.json")
-                                .queryParam("query", query);
-                        if (display != null) b = b.queryParam("display", Math.min(display, 100));
-                        if (sort != null && !sort.isBlank()) b = b.queryParam("sort", sort);
-                        if (exclude != null && !exclude.isBlank()) b = b.queryParam("exclude", exclude);
-                        return b.build();
-                    });
+    /** 캐시 → (없으면) 토큰을 얻은 뒤 업스트림 호출. 실패/타임아웃/한도 초과는 빈 응답 */
+    public Mono<NaverShopResponseDTO> search(String query, Integer display, String sort, String exclude) {
+        PriceLookupCache.Key key = PriceLookupCache.Key.of(query, display, sort, exclude);
+        return cache.get(key, () -> Mono.defer(rateLimiter::acquire).then(fetch(query, display, sort, exclude)))
+                .onErrorResume(e -> {
+                    log.error("Naver API call failed: {}", e.getMessage());
+                    return Mono.just(new NaverShopResponseDTO()); // 빈 객체 반환
+                });
+    }
 
-            return req.retrieve()
-                    .onStatus(
-                            status -> status.is4xxClientError() || status.is5xxServerError(),
-                            resp -> resp.bodyToMono(String.class).defaultIfEmpty("")
-                                    .flatMap(body -> {
-                                        log.error("Naver API error {} - body: {}",
-                                                resp.statusCode().value(),
-                                                body);
-                                        return Mono.error(new RuntimeException("Naver API error " + resp.statusCode().value()));
-                                    })
-                    )
-                    .bodyToMono(NaverShopResponseDTO.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .onErrorResume(e -> {
-                        log.error("Naver API call failed: {}", e.getMessage());
-                        return Mono.just(new NaverShopResponseDTO()); // 빈 객체 반환
-                    })
-                    .block();
-        } catch (Exception e) {
-            log.error("Naver API unexpected error: {}", e.getMessage(), e);
-            return new NaverShopResponseDTO();
-        }
+    private Mono<NaverShopResponseDTO> fetch(String query, Integer display, String sort, String exclude) {
+        return webClient.get()
+                .uri(uri -> {
+                    var b = uri.path("/shop.json")
+                            .queryParam("query", query);
+                    if (display != null) b = b.queryParam("display", Math.min(display, 100));
+                    if (sort != null && !sort.isBlank()) b = b.queryParam("sort", sort);
+                    if (exclude != null && !exclude.isBlank()) b = b.queryParam("exclude", exclude);
+                    return b.build();
+                })
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        resp -> resp.bodyToMono(String.class).defaultIfEmpty("")
+                                .flatMap(body -> {
+                                    log.error("Naver API error {} - body: {}",
+                                            resp.statusCode().value(),
+                                            body);
+                                    return Mono.error(new RuntimeException("Naver API error " + resp.statusCode().value()));
+                                })
+                )
+                .bodyToMono(NaverShopResponseDTO.class)
+                .timeout(Duration.ofSeconds(5));
     }
 
-    /** 재료 리스트를 받아 각 재료별 '기본순(sim)' 상위 n개 반환 */
-    public Map<String, List<NaverShopResponseDTO.Item>> compareByIngredients(
+    /** 재료 리스트를 받아 각 재료별 '기본순(sim)' 상위 n개 반환 (재료별 호출은 병렬, 결과는 재료 순서대로) */
+    public Mono<Map<String, List<NaverShopResponseDTO.Item>>> compareByIngredients(
             List<String> ingredients, int perIngredient, boolean excludeUsed
     ) {
+        List<String> keywords = keywords(ingredients);
+        // flatMapSequential: 동시에 concurrency 개까지 호출하되 결과는 입력(재료) 순서대로
+        return Flux.fromIterable(keywords)
+                .flatMapSequential(kw -> lookup(kw, perIngredient, excludeUsed)
+                        .map(items -> Map.entry(kw, items)), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+    }
+
+    /** 재료별 결과를 업스트림 호출이 끝나는 순서대로 하나씩 내보낸다. (느린 키워드가 나머지를 막지 않음) */
+    public Flux<IngredientPriceResult> streamByIngredients(
+            List<String> ingredients, int perIngredient, boolean excludeUsed
+    ) {
+        List<String> keywords = keywords(ingredients);
+        return Flux.range(0, keywords.size())
+                .flatMap(i -> lookup(keywords.get(i), perIngredient, excludeUsed)
+                        .map(items -> new IngredientPriceResult(keywords.get(i), i, items)), concurrency);
+    }
+
+    private Mono<List<NaverShopResponseDTO.Item>> lookup(String keyword, int perIngredient, boolean excludeUsed) {
         final String exclude = excludeUsed ? "used:rental" : null;
         final String sort = "sim"; // ✅ 기본순(정확도/인기 가중) 고정
+        return search(keyword, perIngredient * 3, sort, exclude)
+                .map(resp -> topItems(resp, perIngredient));
+    }
 
-        Map<String, List<NaverShopResponseDTO.Item>> result = new LinkedHashMap<>();
-
-        ingredients.stream()
+    private List<String> keywords(List<String> ingredients) {
+        return ingredients.stream()
                 .filter(Objects::nonNull)
-                .map(this::normalizeKeyword)
+                .map(IngredientNormalizer::searchKeyword)
                 .map(String::trim)
                 .filter(s -> !s.isBlank())
                 .distinct()
-                .forEach(kw -> {
-                    NaverShopResponseDTO resp = searchOnce(kw, perIngredient * 3, sort, exclude);
-
-                    // 기본순: 네이버 응답 순서를 유지한다. (가격으로 재정렬 X)
-                    List<NaverShopResponseDTO.Item> items = Optional.ofNullable(resp != null ? resp.items : null)
-                            .orElse(List.of())
-                            .stream()
-                            .filter(it -> it.lprice != null && !it.lprice.isBlank())
-                            .limit(perIngredient) // 순서 유지한 채 상위 n개만
-                            .collect(Collectors.toList());
-
-                    result.put(kw, items);
-                });
-
-        return result;
+                .collect(Collectors.toList());
     }
 
-    private String normalizeKeyword(String ingredient) {
-        // 괄호, 단위/수량, 특수문자 정리
-        String s = ingredient.replaceAll("\\(.*?\\)", " ")
-                .replaceAll("\\d+\\s*(g|kg|ml|L|개|큰술|작은술|컵)", " ")
-                .replaceAll("[^가-힣a-zA-Z0-9\\s]", " ")
-                .replaceAll("\\s{2,}", " ")
-                .trim();
-        return s.isBlank() ? ingredient : s;
+    /** 기본순: 네이버 응답 순서를 유지한다. (가격으로 재정렬 X) */
+    private List<NaverShopResponseDTO.Item> topItems(NaverShopResponseDTO resp, int perIngredient) {
+        return Optional.ofNullable(resp != null ? resp.items : null)
+                .orElse(List.of())
+                .stream()
+                .filter(it -> it.lprice != null && !it.lprice.isBlank())
+                .limit(perIngredient) // 순서 유지한 채 상위 n개만
+                .collect(Collectors.toList());
     }
 
     private int parsePrice(String p) {
@@ -1,7 +1,13 @@
 // src/main/java/com/example/BMN/Ingredient/PriceCompareController.java
 package com.example.BMN.Ingredient;
 
+import com.example.BMN.Recipe.RecipeIngredientIndex;
+import com.example.BMN.Recipe.RecipeIngredientRepository;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -12,18 +18,74 @@ import java.util.Map;
 public class PriceCompareController {
 
     private final NaverShoppingService service;
+    private final PriceLookupCache cache;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final IngredientPriceService priceService;
+    private final RecipeIngredientRepository recipeIngredientRepository;
 
-    public PriceCompareController(NaverShoppingService service) {
+    public PriceCompareController(NaverShoppingService service, PriceLookupCache cache,
+                                  TokenBucketRateLimiter rateLimiter, IngredientPriceService priceService,
+                                  RecipeIngredientRepository recipeIngredientRepository) {
         this.service = service;
+        this.cache = cache;
+        this.rateLimiter = rateLimiter;
+        this.priceService = priceService;
+        this.recipeIngredientRepository = recipeIngredientRepository;
     }
 
+    /** 재료별 결과를 한 번에 (Map, 재료 순서 유지). 모든 호출이 끝나면 응답 (서블릿 스레드는 막지 않음) */
     @PostMapping("/compare")
-    public Map<String, List<NaverShopResponseDTO.Item>> compare(@RequestBody CompareRequestDTO req) {
-        int n = (req.perIngredient == null || req.perIngredient < 1) ? 5 : req.perIngredient;
+    public Mono<Map<String, List<NaverShopResponseDTO.Item>>> compare(@RequestBody CompareRequestDTO req) {
+        int n = perIngredient(req);
         boolean excludeUsed = req.excludeUsed == null || req.excludeUsed; // 기본 true
-        List<String> ingredients = (req.ingredients == null) ? List.of() : req.ingredients;
+        return service.compareByIngredients(ingredients(req), n, excludeUsed);
+    }
+
+    /** 재료별 결과를 끝나는 대로 한 줄씩 (NDJSON) → 화면이 점진적으로 그릴 수 있다. */
+    @PostMapping(value = "/compare/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<IngredientPriceResult> compareStream(@RequestBody CompareRequestDTO req) {
+        int n = perIngredient(req);
+        boolean excludeUsed = req.excludeUsed == null || req.excludeUsed; // 기본 true
+        return service.streamByIngredients(ingredients(req), n, excludeUsed);
+    }
+
+    private static int perIngredient(CompareRequestDTO req) {
+        return (req.perIngredient == null || req.perIngredient < 1) ? 5 : req.perIngredient;
+    }
+
+    private static List<String> ingredients(CompareRequestDTO req) {
+        return (req.ingredients == null) ? List.of() : req.ingredients;
+    }
+
+    /* ---------------- 가격 기록 (로컬 DB 조회만, 네이버 호출 없음) ---------------- */
+
+    /** 재료의 현재 최저가 (가장 최근 기록). 기록이 없으면 404 */
+    @GetMapping("/lowest")
+    public ResponseEntity<IngredientPriceSnapshot> lowest(@RequestParam String ingredient) {
+        return priceService.lowest(ingredient)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /** 재료의 최근 days 일 최저가 추이 (오래된 순) */
+    @GetMapping("/history")
+    public List<IngredientPriceService.PricePoint> history(@RequestParam String ingredient,
+                                                           @RequestParam(defaultValue = "30") int days) {
+        return priceService.history(ingredient, Math.min(days, 365));
+    }
+
+    /** 레시피 재료 행 기준 예상 비용 (재료별 최신 최저가 합) */
+    @GetMapping("/recipe/{recipeId}/estimate")
+    public IngredientPriceService.Estimate recipeEstimate(@PathVariable Long recipeId) {
+        List<String> norms = recipeIngredientRepository.findByRecipeIdOrderByPositionAsc(recipeId).stream()
+                .map(ri -> RecipeIngredientIndex.normOf(ri.getName(), ri.getNameNorm()))
+                .toList();
+        return priceService.estimate(norms);
+    }
 
-        // ✅ 서비스는 (ingredients, perIngredient, excludeUsed) 3개 인자만 받습니다.
-        return service.compareByIngredients(ingredients, n, excludeUsed);
+    /** 검색 캐시 적중률 / 호출 한도 대기·거절 수 */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return Map.of("cache", cache.stats(), "rateLimiter", rateLimiter.stats());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.example.BMN.Ingredient;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 네이버 쇼핑 검색 결과 TTL 캐시 + 진행 중 요청 합치기
+ *
+ * - 키: (정규화된 키워드, display, sort, exclude)
+ * - 값: Mono.cache() 로 감싼 호출 → 같은 키로 동시에 들어온 요청은 업스트림 호출 하나를 공유한다.
+ * - 실패한 호출은 바로 제거해서 다음 요청이 다시 시도하게 한다.
+ * - 항목 수 제한 LRU (naver.cache.max-entries), 수명 naver.cache.ttl-seconds
+ */
+@Component
+public class PriceLookupCache {
+
+    public record Key(String keyword, Integer display, String sort, String exclude) {
+        public static Key of(String keyword, Integer display, String sort, String exclude) {
+            return new Key(keyword.trim().toLowerCase(Locale.ROOT), display,
+                    sort == null ? "" : sort, exclude == null ? "" : exclude);
+        }
+    }
+
+    private record Entry(Mono<NaverShopResponseDTO> mono, long expiresAt) {}
+
+    private final long ttlMs;
+    private final Map<Key, Entry> map;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PriceLookupCache(@Value("${naver.cache.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${naver.cache.max-entries:5000}") int maxEntries) {
+        this.ttlMs = Math.max(0, ttlSeconds) * 1000L;
+        int max = Math.max(16, maxEntries);
+        this.map = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    /** 캐시(또는 진행 중인 호출)가 있으면 그것을, 없으면 loader 로 새 호출을 만들어 공유 */
+    public Mono<NaverShopResponseDTO> get(Key key, Supplier<Mono<NaverShopResponseDTO>> loader) {
+        if (ttlMs <= 0) return loader.get();
+        long now = System.currentTimeMillis();
+        Entry[] created = new Entry[1];
+        synchronized (map) {
+            Entry e = map.get(key);
+            if (e != null && e.expiresAt() > now) {
+                hits.incrementAndGet();
+                return e.mono();
+            }
+            Mono<NaverShopResponseDTO> mono = loader.get()
+                    .doOnError(err -> evict(key, created[0]))
+                    .cache();
+            created[0] = new Entry(mono, now + ttlMs);
+            map.put(key, created[0]);
+        }
+        misses.incrementAndGet();
+        return created[0].mono();
+    }
+
+    private void evict(Key key, Entry entry) {
+        synchronized (map) {
+            map.remove(key, entry);
+        }
+    }
+
+    public record Stats(int entries, long hits, long misses, double hitRatio) {}
+
+    public Stats stats() {
+        int size;
+        synchronized (map) {
+            size = map.size();
+        }
+        long h = hits.get(), m = misses.get();
+        double ratio = (h + m) == 0 ? 0.0 : (double) h / (h + m);
+        return new Stats(size, h, m, ratio);
+    }
+}
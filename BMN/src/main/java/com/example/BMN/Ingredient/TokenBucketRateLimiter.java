@@ -0,0 +1,81 @@
+package com.example.BMN.Ingredient;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 네이버 쇼핑 API 호출용 토큰 버킷 (인스턴스별)
+ *
+ * - 초당 naver.api.rate-per-second 개씩 채워지고 최대 naver.api.burst 개까지 쌓인다.
+ * - 토큰이 없으면 "예약" 후 그만큼 지연(Mono.delay)시켜 스레드를 막지 않는다.
+ * - 예상 대기가 naver.api.max-wait-ms 를 넘으면 바로 RateLimitedException (호출 측에서 빈 결과로 처리).
+ * 서버를 여러 대 띄우면 rate-per-second 를 (업스트림 한도 / 인스턴스 수) 로 나눠 설정한다.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    public static class RateLimitedException extends RuntimeException {
+        public RateLimitedException(String message) {
+            super(message);
+        }
+    }
+
+    private final double ratePerNano;
+    private final double capacity;
+    private final long maxWaitNanos;
+
+    // 음수면 이미 예약된(앞으로 채워질) 토큰까지 쓴 상태
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TokenBucketRateLimiter(@Value("${naver.api.rate-per-second:10}") double ratePerSecond,
+                                  @Value("${naver.api.burst:10}") int burst,
+                                  @Value("${naver.api.max-wait-ms:3000}") long maxWaitMs) {
+        this.ratePerNano = Math.max(0.001, ratePerSecond) / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.maxWaitNanos = Duration.ofMillis(Math.max(0, maxWaitMs)).toNanos();
+        this.tokens = capacity;
+    }
+
+    /** 토큰 하나를 얻으면 완료되는 Mono (필요하면 지연, 한도를 넘으면 에러) */
+    public Mono<Void> acquire() {
+        long waitNanos = reserve();
+        if (waitNanos < 0) {
+            rejected.incrementAndGet();
+            return Mono.error(new RateLimitedException("Naver API rate limit: wait exceeds " + maxWaitNanos / 1_000_000 + " ms"));
+        }
+        granted.incrementAndGet();
+        if (waitNanos == 0) return Mono.empty();
+        delayed.incrementAndGet();
+        return Mono.delay(Duration.ofNanos(waitNanos)).then();
+    }
+
+    /** 대기 시간(ns), 0 이면 즉시, -1 이면 거절 */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long wait = (long) Math.ceil((1 - tokens) / ratePerNano);
+        if (wait > maxWaitNanos) return -1;
+        tokens -= 1;
+        return wait;
+    }
+
+    public record Stats(long granted, long delayed, long rejected) {}
+
+    public Stats stats() {
+        return new Stats(granted.get(), delayed.get(), rejected.get());
+    }
+}
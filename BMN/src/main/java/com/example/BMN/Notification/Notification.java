@@ -7,6 +7,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 사용자별 최신순 목록/커서 페이징
+        @Index(name = "idx_notification_user_time", columnList = "user_id, createdAt, id")
+})
 @Getter
 @Setter
 public class Notification {
@@ -1,5 +1,6 @@
 package com.example.BMN.Notification;
 
+import com.example.BMN.CursorPage;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserService;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/notifications")
@@ -54,17 +56,26 @@ public class NotificationController {
     private final UserService userService;
 
     @GetMapping
-    public List<NotificationDTO> getMyNotifications() {
+    public ResponseEntity<?> getMyNotifications(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
         SiteUser me = userService.currentUserOrThrow();
-        List<Notification> notifications = notificationService.getNotifications(me);
-        return notifications.stream().map(n -> {
-            SiteUser opponent = null;
-            // 단순화: opponentId만 사용, 필요시 SiteUser 조회
-            if (n.getOpponentId() != null) {
-                opponent = userService.getById(n.getOpponentId());
-            }
-            return NotificationDTO.fromEntity(n, opponent);
-        }).toList();
+        // after 가 있으면(빈 값 = 최신부터) 커서 페이지, 없으면 기존 배열 응답
+        if (after != null) {
+            CursorPage<Notification> page = notificationService.getNotificationsBefore(me, after, size, count);
+            return ResponseEntity.ok(new CursorPage<>(notificationService.toDtos(page.content()),
+                    page.next(), page.last(), page.total()));
+        }
+        return ResponseEntity.ok(notificationService.toDtos(notificationService.getNotifications(me)));
+    }
+
+    /** 읽지 않은 알림 수 (카운터 컬럼 조회, 변경은 SSE "unread-count" 이벤트로도 전달) */
+    @GetMapping("/unread-count")
+    public Map<String, Integer> unreadCount() {
+        SiteUser me = userService.currentUserOrThrow();
+        return Map.of("unreadCount", notificationService.unreadCount(me.getId()));
     }
 
     @PostMapping("/{id}/read")
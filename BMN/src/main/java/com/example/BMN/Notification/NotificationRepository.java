@@ -1,10 +1,71 @@
 package com.example.BMN.Notification;
 
-import com.example.BMN.User.SiteUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = {"user"})
-    List<Notification> findByUserOrderByCreatedAtDesc(SiteUser user);
+    /* ------------------ 커서(keyset) 페이징 ------------------ */
+
+    /** 최신 알림 첫 페이지 (COUNT 없음) */
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findLatest(@Param("userId") Long userId, Pageable pageable);
+
+    /** 다음 페이지: (createdAt, id) 가 커서보다 과거인 알림 */
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+        "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+        "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    long countByUserIdAndReadFalse(Long userId);
+
+    /** 사용자 id 구간별 안 읽은 알림 수 [userId, count] (카운터 보정 배치용) */
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n " +
+        "WHERE n.read = false AND n.user.id BETWEEN :fromId AND :toId GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /** 안 읽은 알림만 읽음 처리 (영향받은 행 수로 실제 변경 여부 판단) */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.user.id = :userId AND n.read = false")
+    int markReadIfUnread(@Param("id") Long id, @Param("userId") Long userId);
+
+    /* ------------------ 보관 기간 정리 ------------------ */
+
+    /** 보관 기간이 지난 읽은 알림 id (id 순 배치) */
+    @Query("SELECT n.id FROM Notification n WHERE n.read = true AND n.createdAt < :cutoff AND n.id > :afterId ORDER BY n.id ASC")
+    List<Long> findExpiredReadIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId, Pageable pageable);
+
+    /* ------------------ 읽지 않은 알림 카운터 (site_user.unread_notification_count) ------------------ */
+
+    @Query(value = "SELECT unread_notification_count FROM site_user WHERE id = :userId", nativeQuery = true)
+    Integer findUnreadCounter(@Param("userId") Long userId);
+
+    /** 카운터가 아직 없을 때만 채운다. */
+    @Modifying
+    @Query(value = "UPDATE site_user SET unread_notification_count = :count " +
+        "WHERE id = :userId AND unread_notification_count IS NULL", nativeQuery = true)
+    int initUnreadCounter(@Param("userId") Long userId, @Param("count") int count);
+
+    /** 카운터 증감 (0 미만 방지, 초기화 전이면 그대로 두고 첫 조회 때 COUNT 로 채움) */
+    @Modifying
+    @Query(value = """
+        UPDATE site_user
+        SET unread_notification_count = CASE
+            WHEN unread_notification_count + :delta > 0 THEN unread_notification_count + :delta
+            ELSE 0
+        END
+        WHERE id = :userId AND unread_notification_count IS NOT NULL
+        """, nativeQuery = true)
+    int adjustUnreadCounter(@Param("userId") Long userId, @Param("delta") int delta);
 }
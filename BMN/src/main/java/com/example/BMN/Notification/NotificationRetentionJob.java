@@ -0,0 +1,57 @@
+package com.example.BMN.Notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관 기간(app.notification.retention-days)이 지난 "읽은" 알림 정리 배치
+ *
+ * - 읽지 않은 알림은 남겨 둔다. (읽지 않은 알림 카운터와 어긋나지 않도록)
+ * - id 순으로 BATCH 개씩 지워서 한 번에 큰 트랜잭션/락을 잡지 않는다.
+ */
+@Slf4j
+@Component
+public class NotificationRetentionJob {
+
+    private static final int BATCH = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final int retentionDays;
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    @Value("${app.notification.retention-days:30}") int retentionDays) {
+        this.notificationRepository = notificationRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(cron = "${app.notification.retention-cron:0 40 4 * * *}")
+    public void purge() {
+        if (retentionDays <= 0) return;
+        long started = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Long> ids = notificationRepository.findExpiredReadIds(cutoff, lastId, PageRequest.of(0, BATCH));
+                if (ids.isEmpty()) break;
+                notificationRepository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            }
+        } catch (Exception e) {
+            log.warn("Notification retention purge failed after {} rows: {}", deleted, e.getMessage());
+            return;
+        }
+        if (deleted > 0) {
+            log.info("Notification retention: deleted {} read notifications older than {} days ({} ms)",
+                    deleted, retentionDays, System.currentTimeMillis() - started);
+        }
+    }
+}
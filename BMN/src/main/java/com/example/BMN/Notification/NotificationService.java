@@ -1,18 +1,46 @@
 package com.example.BMN.Notification;
 
+import com.example.BMN.CursorPage;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.FollowRequest;
 import com.example.BMN.User.FollowRequestRepository;
+import com.example.BMN.User.UserRepository;
+import com.example.BMN.chat.SsePushHub;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @Service
 public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final FollowRequestRepository followRequestRepository;
+    private final UserRepository userRepository;
+    private final SsePushHub pushHub;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** SSE 이벤트 이름: 새 알림 / 읽지 않은 수 변경 (채팅 스트림의 "message" 와 같은 연결로 전송) */
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    // 배열 응답 한 번의 상한
+    public static final int LIST_MAX = 200;
+
+    /** 커밋 후 SSE 로 내보낼 이벤트 */
+    public record NotificationPushEvent(Long userId, String event, Object payload) {}
+
     public Notification getByIdAndUser(Long id, SiteUser user) {
         return notificationRepository.findById(id)
                 .filter(n -> n.getUser().getId().equals(user.getId()))
@@ -21,7 +49,14 @@ public class NotificationService {
 
     @Transactional
     public void delete(Notification n) {
+        boolean wasUnread = !n.isRead();
+        Long userId = n.getUser() != null ? n.getUser().getId() : null;
         notificationRepository.delete(n);
+        if (wasUnread && userId != null) {
+            notificationRepository.flush();
+            notificationRepository.adjustUnreadCounter(userId, -1);
+            publishUnreadCount(userId);
+        }
     }
 
     // 알림에 연결된 FollowRequest를 상태 상관없이 찾음
@@ -70,16 +105,81 @@ public class NotificationService {
         }
         log.info("[NotificationService] Created notification: id={}, type={}, userId={}, userName={}, message={}",
                 saved.getId(), type, user.getId(), user.getUserName(), message);
+
+        // 카운터 +1 후 커밋되면 수신자의 SSE 연결로 전송
+        notificationRepository.adjustUnreadCounter(user.getId(), 1);
+        SiteUser opponent = opponentId != null ? userRepository.findById(opponentId).orElse(null) : null;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("notification", NotificationDTO.fromEntity(saved, opponent));
+        payload.put("unreadCount", unreadCount(user.getId()));
+        eventPublisher.publishEvent(new NotificationPushEvent(user.getId(), EVENT_NOTIFICATION, payload));
     }
 
+    /** 최신 알림 목록 (배열 응답용, 최대 LIST_MAX 개. 더 과거는 커서 페이징으로) */
     public List<Notification> getNotifications(SiteUser user) {
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
+        return notificationRepository.findLatest(user.getId(), PageRequest.of(0, LIST_MAX));
+    }
+
+    /**
+     * 알림 목록 → DTO
+     * 상대방(opponentId)은 중복 제거 후 findAllById 한 번으로 불러온다. (알림 수와 무관하게 쿼리 1회)
+     */
+    public List<NotificationDTO> toDtos(List<Notification> notifications) {
+        Set<Long> opponentIds = new HashSet<>();
+        for (Notification n : notifications) {
+            if (n.getOpponentId() != null) opponentIds.add(n.getOpponentId());
+        }
+        Map<Long, SiteUser> opponents = new HashMap<>();
+        if (!opponentIds.isEmpty()) {
+            for (SiteUser u : userRepository.findAllById(opponentIds)) opponents.put(u.getId(), u);
+        }
+        return notifications.stream()
+                .map(n -> NotificationDTO.fromEntity(n, n.getOpponentId() != null ? opponents.get(n.getOpponentId()) : null))
+                .toList();
+    }
+
+    /** 커서 페이징: after 가 비어 있으면 최신 알림부터, COUNT 는 withTotal 일 때만 */
+    public CursorPage<Notification> getNotificationsBefore(SiteUser user, String after, int size, boolean withTotal) {
+        int s = Math.min(Math.max(1, size), 100);
+        Pageable limit = PageRequest.of(0, s + 1);
+
+        List<Notification> fetched;
+        if (after == null || after.isBlank()) {
+            fetched = notificationRepository.findLatest(user.getId(), limit);
+        } else {
+            CursorPage.TimeId key = CursorPage.decodeTimeId(after);
+            fetched = notificationRepository.findBefore(user.getId(), key.at(), key.id(), limit);
+        }
+        Long total = withTotal ? notificationRepository.countByUserId(user.getId()) : null;
+        return CursorPage.of(fetched, s, total, n -> CursorPage.encode(n.getCreatedAt(), n.getId()));
+    }
+
+    /** 읽지 않은 알림 수 (카운터 컬럼, 아직 없으면 COUNT 로 한 번 채움. 그 사이 놓친 증감은 UnreadCountReconciliationJob 이 보정) */
+    @Transactional
+    public int unreadCount(Long userId) {
+        Integer counter = notificationRepository.findUnreadCounter(userId);
+        if (counter != null) return counter;
+        int counted = (int) notificationRepository.countByUserIdAndReadFalse(userId);
+        notificationRepository.initUnreadCounter(userId, counted);
+        return counted;
     }
 
     @Transactional
     public void markAsRead(Long notificationId, SiteUser user) {
-        notificationRepository.findById(notificationId).ifPresent(n -> {
-            if (n.getUser().equals(user)) n.setRead(true);
-        });
+        if (notificationRepository.markReadIfUnread(notificationId, user.getId()) > 0) {
+            notificationRepository.adjustUnreadCounter(user.getId(), -1);
+            publishUnreadCount(user.getId());
+        }
+    }
+
+    private void publishUnreadCount(Long userId) {
+        eventPublisher.publishEvent(new NotificationPushEvent(userId, EVENT_UNREAD_COUNT,
+                Map.of("unreadCount", unreadCount(userId))));
+    }
+
+    /** 커밋된 알림만 전송 (전송 자체는 SsePushHub 가 비동기로) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPush(NotificationPushEvent event) {
+        pushHub.publish(event.userId(), event.event(), event.payload());
     }
 }
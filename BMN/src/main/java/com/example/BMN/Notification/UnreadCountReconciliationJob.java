@@ -0,0 +1,76 @@
+package com.example.BMN.Notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * site_user.unread_notification_count 를 notification 테이블 기준으로 다시 맞추는 배치
+ *
+ * 카운터는 첫 조회 때 COUNT 로 채우는데, COUNT 와 초기화 사이에 새 알림이 오면
+ * 그 증가분은 (아직 null 이라) 반영되지 않는다. 이렇게 어긋난 값을 주기적으로 보정한다.
+ * 초기화 전(null) 행은 건너뛴다. (첫 조회 때 채워짐)
+ *
+ * 사용자 행을 먼저 읽고 집계를 읽은 뒤, 읽었던 값이 그대로일 때만 갱신한다.
+ * (그 사이 알림 생성/읽음으로 증감이 반영됐다면 다음 회차에 다시 본다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadCountReconciliationJob {
+
+    private static final int BATCH = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final NotificationRepository notificationRepository;
+
+    @Scheduled(cron = "${app.notification.reconcile-cron:0 40 * * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        int fixed = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Map<String, Object>> users = jdbc.queryForList(
+                        "SELECT id, unread_notification_count FROM site_user WHERE id > ? ORDER BY id LIMIT ?",
+                        lastId, BATCH);
+                if (users.isEmpty()) break;
+
+                long fromId = ((Number) users.get(0).get("id")).longValue();
+                long toId = ((Number) users.get(users.size() - 1).get("id")).longValue();
+
+                Map<Long, Integer> unread = new HashMap<>();
+                for (Object[] row : notificationRepository.countUnreadByUserIdBetween(fromId, toId)) {
+                    unread.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+                }
+
+                for (Map<String, Object> u : users) {
+                    Number current = (Number) u.get("unread_notification_count");
+                    if (current == null) continue;
+                    long id = ((Number) u.get("id")).longValue();
+                    int actual = unread.getOrDefault(id, 0);
+                    if (current.intValue() == actual) continue;
+
+                    fixed += jdbc.update(
+                            "UPDATE site_user SET unread_notification_count = ? " +
+                            "WHERE id = ? AND unread_notification_count = ?",
+                            actual, id, current.intValue());
+                }
+                lastId = toId;
+            }
+        } catch (Exception e) {
+            log.warn("Unread notification count reconciliation failed: {}", e.getMessage());
+            return;
+        }
+        if (fixed > 0) {
+            log.info("Unread notification count reconciliation: {} users corrected ({} ms)",
+                    fixed, System.currentTimeMillis() - started);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.example.BMN.User.SiteUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +21,23 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
 
     void deleteByUserAndRecipe(SiteUser user, Recipe recipe);
 
+    boolean existsByUserIdAndRecipeId(Long userId, Long recipeId);
+
+    // ✅ 즐겨찾기 추가: 없을 때만 INSERT (레시피가 없으면 0행) → 영향받은 행 수로 추가 여부 판단
+    @Modifying
+    @Query(value = """
+        INSERT INTO recipe_favorite (user_id, recipe_id, created_at)
+        SELECT :userId, r.id, :now FROM recipe r
+        WHERE r.id = :recipeId
+          AND NOT EXISTS (SELECT 1 FROM recipe_favorite f WHERE f.user_id = :userId AND f.recipe_id = :recipeId)
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("recipeId") Long recipeId, @Param("now") LocalDateTime now);
+
+    // ✅ 즐겨찾기 해제: 영향받은 행 수로 실제 삭제 여부 판단
+    @Modifying
+    @Query("delete from Favorite f where f.user.id = :userId and f.recipe.id = :recipeId")
+    int deleteByUserIdAndRecipeId(@Param("userId") Long userId, @Param("recipeId") Long recipeId);
+
     Page<Favorite> findByUser(SiteUser user, Pageable pageable);
 
     @Query("select f from Favorite f join fetch f.recipe r left join fetch r.author where f.user = :user order by f.id desc")
@@ -1,9 +1,26 @@
 package com.example.BMN.Recipe;
 
 import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 재료명 정규화 (레시피 재료 색인 / 냉장고 추천 / 네이버 검색 키워드 공용)
+ *
+ * - 정규식 없이 문자 단위 한 번 훑기로 처리 (호출마다 Pattern 컴파일/중간 문자열 생성 X)
+ * - 같은 이름이 반복해서 들어오므로 결과를 크기 제한 캐시에 보관
+ *   (MEMO_MAX 를 넘으면 통째로 비우고 다시 채운다. 재료명 종류는 많지 않아 거의 일어나지 않음)
+ */
 public class IngredientNormalizer {
 
+    private static final int MEMO_MAX = 10_000;
+
+    private static final Map<String, String> ONE_MEMO = new ConcurrentHashMap<>();
+    private static final Map<String, String> KEYWORD_MEMO = new ConcurrentHashMap<>();
+
+    // 검색 키워드에서 지우는 "숫자 + 단위" 의 단위 (앞에서부터 먼저 맞는 것)
+    private static final String[] UNITS = {"g", "kg", "ml", "L", "개", "큰술", "작은술", "컵"};
+
     /**
      * 재료명 정규화
      * - null/빈값 → ""
@@ -14,17 +31,188 @@ public class IngredientNormalizer {
      */
     public static String normalizeOne(String raw) {
         if (raw == null) return "";
-        String s = raw.trim().toLowerCase();
+        String cached = ONE_MEMO.get(raw);
+        if (cached != null) return cached;
+        String s = normalizeOneUncached(raw);
+        memo(ONE_MEMO, raw, s);
+        return s;
+    }
+
+    /**
+     * 네이버 검색용 키워드 (예: "양파 1/2개(다진 것)" → "양파 1 2")
+     * - 괄호 안 내용 제거
+     * - "숫자 + 단위"(g, kg, ml, L, 개, 큰술, 작은술, 컵) 제거
+     * - 한글/영문/숫자/공백 외 문자는 공백으로, 2칸 이상 공백은 1칸으로, 양쪽 공백 제거
+     * - 결과가 비면 원문 그대로
+     */
+    public static String searchKeyword(String raw) {
+        if (raw == null) return "";
+        String cached = KEYWORD_MEMO.get(raw);
+        if (cached != null) return cached;
+        String s = searchKeywordUncached(raw);
+        memo(KEYWORD_MEMO, raw, s);
+        return s;
+    }
+
+    /* ---------------- 실제 변환 (캐시 없이) ---------------- */
+
+    static String normalizeOneUncached(String raw) {
+        String s = raw;
+        // ASCII/완성형 한글만 있으면 NFC 가 바꿀 것이 없다. (자모/결합 문자가 있을 때만 정규화)
+        if (!isAsciiOrHangulSyllables(s)) {
+            s = Normalizer.normalize(s.trim().toLowerCase(), Normalizer.Form.NFC);
+        }
+
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean pendingSpace = false;
+        boolean changed = false;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+                changed = true;
+            }
+            if (isLowerAlnum(c) || isHangulSyllable(c)) {
+                if (pendingSpace && sb.length() > 0) sb.append(' ');
+                pendingSpace = false;
+                sb.append(c);
+            } else if (isRegexSpace(c)) {
+                pendingSpace = true;
+                if (c != ' ') changed = true;
+            }
+            // 그 외 문자는 제거 (공백으로 바꾸지 않음)
+        }
+        // 바뀐 것이 없으면 새 문자열을 만들지 않는다.
+        return (!changed && sb.length() == s.length()) ? s : sb.toString();
+    }
+
+    static String searchKeywordUncached(String raw) {
+        CharSequence s = raw.indexOf('(') >= 0 ? stripParentheses(raw) : raw;
+        int n = s.length();
+
+        StringBuilder sb = new StringBuilder(n);
+        int spaceRun = 0;       // 아직 쓰지 않은 연속 공백 수
+        char firstSpace = ' ';  // 공백이 1칸이면 원래 문자를 그대로 쓴다.
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+
+            // 숫자 + (공백) + 단위 → 공백 하나
+            if (c >= '0' && c <= '9') {
+                int j = i;
+                while (j < n && isDigit(s.charAt(j))) j++;
+                int k = j;
+                while (k < n && isRegexSpace(s.charAt(k))) k++;
+                int unitLen = unitAt(s, k);
+                if (unitLen > 0) {
+                    if (spaceRun == 0) firstSpace = ' ';
+                    spaceRun++;
+                    i = k + unitLen;
+                    continue;
+                }
+                // 단위가 없으면 숫자는 그대로
+                flushSpaces(sb, spaceRun, firstSpace);
+                spaceRun = 0;
+                sb.append(s, i, j);
+                i = j;
+                continue;
+            }
+
+            if (isAlnum(c) || isHangulSyllable(c)) {
+                flushSpaces(sb, spaceRun, firstSpace);
+                spaceRun = 0;
+                sb.append(c);
+            } else {
+                // 공백 또는 특수문자(→ 공백)
+                if (spaceRun == 0) firstSpace = isRegexSpace(c) ? c : ' ';
+                spaceRun++;
+            }
+            i++;
+        }
+        // 끝 공백은 버린다. (trim)
+        return sb.length() == 0 ? raw : sb.toString();
+    }
 
-        // 유니코드 정규화 (예: ᄀ + ᅡ → 가)
-        s = Normalizer.normalize(s, Normalizer.Form.NFC);
+    /** `\(.*?\)` → " " (줄바꿈을 넘지 않는 가장 가까운 닫는 괄호까지) */
+    private static CharSequence stripParentheses(String s) {
+        int n = s.length();
+        StringBuilder sb = new StringBuilder(n);
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c == '(') {
+                int close = -1;
+                for (int j = i + 1; j < n; j++) {
+                    char d = s.charAt(j);
+                    if (d == ')') { close = j; break; }
+                    if (isLineTerminator(d)) break;
+                }
+                if (close >= 0) {
+                    sb.append(' ');
+                    i = close + 1;
+                    continue;
+                }
+            }
+            sb.append(c);
+            i++;
+        }
+        return sb;
+    }
+
+    private static void flushSpaces(StringBuilder sb, int run, char first) {
+        if (run == 0 || sb.length() == 0) return; // 앞 공백은 버린다. (trim)
+        sb.append(run == 1 ? first : ' ');
+    }
+
+    private static int unitAt(CharSequence s, int at) {
+        for (String u : UNITS) {
+            int len = u.length();
+            if (at + len > s.length()) continue;
+            boolean match = true;
+            for (int x = 0; x < len; x++) {
+                if (s.charAt(at + x) != u.charAt(x)) { match = false; break; }
+            }
+            if (match) return len;
+        }
+        return 0;
+    }
+
+    private static void memo(Map<String, String> memo, String key, String value) {
+        if (memo.size() >= MEMO_MAX) memo.clear();
+        memo.put(key, value);
+    }
+
+    /* ---------------- 문자 분류 (정규식 \d, \s 와 같은 범위) ---------------- */
+
+    private static boolean isAsciiOrHangulSyllables(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80 && !isHangulSyllable(c)) return false;
+        }
+        return true;
+    }
 
-        // 한글/영문/숫자/공백만 허용
-        s = s.replaceAll("[^0-9a-z가-힣\\s]", "");
+    private static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
 
-        // 연속 공백 하나로
-        s = s.replaceAll("\\s+", " ");
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLowerAlnum(char c) {
+        return (c >= 'a' && c <= 'z') || isDigit(c);
+    }
+
+    private static boolean isAlnum(char c) {
+        return isLowerAlnum(c) || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
 
-        return s.trim();
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
-}
\ No newline at end of file
+}
@@ -10,7 +10,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-@Table(name = "recipe")
+@Table(name = "recipe", indexes = {
+        // 트렌딩 목록: trending_score DESC, id DESC 로 바로 페이징
+        @Index(name = "idx_recipe_trending", columnList = "trending_score, id"),
+        // 작성자별 목록: author_id 범위에서 createDate DESC, id DESC 로 바로 페이징
+        @Index(name = "idx_recipe_author_date", columnList = "author_id, createDate, id")
+})
 @Entity
 @Getter
 @Setter
@@ -22,8 +27,19 @@ public class Recipe {
     @Column(length = 200)
     private String subject; // 요리 이름
 
-    @Lob
-    private byte[] thumbnail; // 대표사진(1장)
+    // 대표사진(1장): 바이트는 BlobStore 에 두고 키/크기/타입만 보관
+    @Column(name = "thumbnail_key", length = 64)
+    private String thumbnailKey;
+
+    @Column(name = "thumbnail_size")
+    private Long thumbnailSize;
+
+    @Column(name = "thumbnail_content_type", length = 100)
+    private String thumbnailContentType;
+
+    public boolean hasThumbnail() {
+        return thumbnailKey != null && !thumbnailKey.isBlank();
+    }
 
     private Integer cookingTimeMinutes; // 소요시간(분 단위)
 
@@ -74,6 +90,10 @@ public class Recipe {
     @Column(name = "rating_count", nullable = false)
     private Integer ratingCount = 0;
 
+    // 평점 합계 (averageRating = ratingSum / ratingCount, 댓글 작성/수정/삭제 시 증감)
+    @Column(name = "rating_sum")
+    private Long ratingSum = 0L;
+
     // ⭐ 조회수/즐겨찾기 수 (추가된 최소 필드)
     @Column(name = "view_count", nullable = false)
     private Long viewCount = 0L;
@@ -81,12 +101,23 @@ public class Recipe {
     @Column(name = "favorite_count", nullable = false)
     private Integer favoriteCount = 0;
 
+    // 🔥 트렌딩 점수 (TrendingScoreJob 이 계산해서 저장)
+    @Column(name = "trending_score")
+    private Double trendingScore;
+
+    // 카운터가 바뀌어 점수 재계산이 필요한지 (다음 배치에서 처리)
+    @Column(name = "trending_dirty")
+    private Boolean trendingDirty;
+
     @PrePersist
     protected void onCreate() {
         if (createDate == null) createDate = LocalDateTime.now();
         if (averageRating == null) averageRating = 0.0;
         if (ratingCount == null) ratingCount = 0;
+        if (ratingSum == null) ratingSum = 0L;
         if (viewCount == null) viewCount = 0L;
         if (favoriteCount == null) favoriteCount = 0;
+        if (trendingScore == null) trendingScore = 0.0;
+        if (trendingDirty == null) trendingDirty = true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.example.BMN.Recipe;
+
+import com.example.BMN.storage.BlobResponses;
+import com.example.BMN.storage.ImageVariantService;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 카드용 경량 응답 (JPQL 생성자 프로젝션)
+ *
+ * - 카드에 필요한 컬럼만 한 번의 SQL 로 조회한다. (작성자는 LEFT JOIN)
+ * - description(LOB), 썸네일, 재료/스텝 컬렉션은 읽지 않는다.
+ * - JSON 필드명은 RecipeDTO 와 같아서 프론트 카드 코드를 그대로 쓸 수 있다.
+ */
+@Getter
+public class RecipeCardView {
+
+    private final Long id;
+    private final String subject;
+    private final Integer cookingTimeMinutes;
+    private final Integer estimatedPrice;
+    private final LocalDateTime createDate;
+
+    // 작성자 표시용
+    private final Long authorId;
+    private final String authorUsername;
+    private final String authorDisplayName;
+
+    // 미디어 (thumbnailUrl: 원본, thumbnailCardUrl: 카드용 축소본)
+    private final String thumbnailUrl;
+    private final String thumbnailCardUrl;
+
+    // 메타
+    private final Double averageRating;
+    private final Integer ratingCount;
+    private final Integer favoriteCount;
+    private final Long viewCount;
+
+    // 커서 생성용 (응답에는 포함하지 않음)
+    @JsonIgnore
+    private final Double trendingScore;
+
+    public RecipeCardView(Long id, String subject, Integer cookingTimeMinutes, Integer estimatedPrice,
+                          LocalDateTime createDate, Long authorId, String authorUsername, String authorNickname,
+                          String thumbnailKey, Double averageRating, Integer ratingCount,
+                          Integer favoriteCount, Long viewCount, Double trendingScore) {
+        this.id = id;
+        this.subject = subject;
+        this.cookingTimeMinutes = cookingTimeMinutes;
+        this.estimatedPrice = estimatedPrice;
+        this.createDate = createDate;
+
+        this.authorId = authorId;
+        this.authorUsername = authorUsername;
+        if (authorId == null) {
+            // 탈퇴한 사용자
+            this.authorDisplayName = "탈퇴한 사용자";
+        } else {
+            this.authorDisplayName = (authorNickname != null && !authorNickname.isBlank())
+                    ? authorNickname : authorUsername;
+        }
+
+        this.thumbnailUrl = (thumbnailKey != null)
+                ? BlobResponses.versionedUrl("/recipe/thumbnail/" + id, thumbnailKey)
+                : null;
+        this.thumbnailCardUrl = (thumbnailKey != null)
+                ? BlobResponses.variantUrl("/recipe/thumbnail/" + id, thumbnailKey, ImageVariantService.CARD_WIDTH)
+                : null;
+
+        this.averageRating = averageRating != null ? averageRating : 0.0;
+        this.ratingCount = ratingCount != null ? ratingCount : 0;
+        this.favoriteCount = favoriteCount != null ? favoriteCount : 0;
+        this.viewCount = viewCount != null ? viewCount : 0L;
+        this.trendingScore = trendingScore;
+    }
+}
@@ -2,11 +2,18 @@ package com.example.BMN.Recipe;
 
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserRepository;
+import com.example.BMN.storage.BlobResponses;
+import com.example.BMN.storage.BlobStore;
+import com.example.BMN.storage.ImageVariantService;
+import com.example.BMN.storage.StoredBlob;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.Part;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -25,7 +32,10 @@ import java.util.List;
 public class RecipeController {
 
     private final RecipeService recipeService;
+    private final RecipeRepository recipeRepository;
     private final RecipeStepImageRepository recipeStepImageRepository;
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
     private final FavoriteRepository favoriteRepository;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -146,18 +156,29 @@ public class RecipeController {
 
     @GetMapping("/thumbnail/{id}")
     @ResponseBody
-    public ResponseEntity<byte[]> getThumbnail(@PathVariable Long id) {
-        byte[] imageBytes = this.recipeService.getRecipe(id).getThumbnail();
-        if (imageBytes == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageBytes);
+    public ResponseEntity<Resource> getThumbnail(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        StoredBlob blob = imageVariantService.resolve(recipeRepository.findThumbnailBlob(id).orElse(null), width);
+        // 변형이 아직 없어 원본을 대신 줄 때는 immutable 로 캐시하지 않는다.
+        return BlobResponses.serve(blobStore, blob,
+                ImageVariantService.isPending(blob, width) ? null : version, ifNoneMatch);
     }
 
-    @GetMapping(value = "/steps/{stepId}/image", produces = MediaType.IMAGE_JPEG_VALUE)
+    @GetMapping("/steps/{stepId}/image")
     @ResponseBody
-    public ResponseEntity<byte[]> getStepImage(@PathVariable("stepId") Long stepId) {
-        var step = recipeStepImageRepository.findById(stepId).orElse(null);
-        if (step == null || step.getImage() == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(step.getImage());
+    public ResponseEntity<Resource> getStepImage(
+            @PathVariable("stepId") Long stepId,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        StoredBlob blob = imageVariantService.resolve(recipeStepImageRepository.findImageBlob(stepId).orElse(null), width);
+        return BlobResponses.serve(blobStore, blob,
+                ImageVariantService.isPending(blob, width) ? null : version, ifNoneMatch);
     }
 
     /* ===================== 조회수 & 즐겨찾기 ===================== */
@@ -180,7 +201,13 @@ public class RecipeController {
     @PostMapping("/api/{id}/favorite")
     @ResponseBody
     public ResponseEntity<FavoriteStatus> addFavorite(@PathVariable("id") Long id) {
-        var r = recipeService.addFavorite(id);
+        RecipeService.FavoriteResult r;
+        try {
+            r = recipeService.addFavorite(id);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 사용자의 동시 요청이 유니크 키에 걸린 경우: 이미 추가된 상태이므로 한 번 더 조회
+            r = recipeService.addFavorite(id);
+        }
         return ResponseEntity.ok(new FavoriteStatus(r.isFavorited(), r.getFavoriteCount()));
     }
 
@@ -197,14 +224,19 @@ public class RecipeController {
 
     @GetMapping("/api/user/{username}/recipes")
     @ResponseBody
-    public ResponseEntity<List<RecipeDTO>> recipesByUser(@PathVariable String username) {
+    public ResponseEntity<?> recipesByUser(
+            @PathVariable String username,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
         SiteUser user = userRepository.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
-        var list = recipeService.findAll().stream()
-                .filter(r -> r.getAuthor() != null && user.getId().equals(r.getAuthor().getId()))
-                .map(RecipeDTO::new)
-                .toList();
-        return ResponseEntity.ok(list);
+        // after 가 있으면(빈 값 = 첫 페이지) 커서 페이지, 없으면 기존 배열 응답
+        if (after != null) {
+            return ResponseEntity.ok(recipeService.listCardsByAuthorAfter(user, after, size, count));
+        }
+        return ResponseEntity.ok(recipeService.listCardsByAuthor(user));
     }
 
     @GetMapping("/api/user/{username}/favorites")
@@ -225,15 +257,20 @@ public class RecipeController {
     @ResponseBody
     public ResponseEntity<?> trendingUnified(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean count
     ) {
         int p = (page != null) ? page : 0;
         int s = (size != null) ? size : 8;  // 기본값 8개
 
-        Page<Recipe> paged = recipeService.listTrending(p, s);
-        List<RecipeDTO> content = paged.getContent().stream()
-                .map(RecipeDTO::new)
-                .toList();
+        // ✅ after 파라미터가 있으면(빈 값 = 첫 페이지): 커서 페이지 반환 (무한 스크롤용, OFFSET/COUNT 없음)
+        if (after != null) {
+            return ResponseEntity.ok(recipeService.listTrendingAfter(after, s, count));
+        }
+
+        Page<RecipeCardView> paged = recipeService.listTrending(p, s);
+        List<RecipeCardView> content = paged.getContent();
 
         // ✅ page 파라미터가 없으면: 상위 리스트 반환 (메인용)
         if (page == null) {
@@ -241,7 +278,7 @@ public class RecipeController {
         }
 
         // ✅ page 파라미터가 있으면: PageEnvelope 형태 반환 (목록용)
-        PageEnvelope<RecipeDTO> result = new PageEnvelope<>(
+        PageEnvelope<RecipeCardView> result = new PageEnvelope<>(
                 content,
                 paged.getNumber(),
                 paged.getSize(),
@@ -263,15 +300,13 @@ public class RecipeController {
         int s = (size != null) ? size : 12;
         if (q == null || q.trim().isEmpty()) {
             // 빈 쿼리는 트렌딩으로 위임
-            Page<Recipe> paged = recipeService.listTrending(p, s);
-            List<RecipeDTO> content = paged.getContent().stream().map(RecipeDTO::new).toList();
-            PageEnvelope<RecipeDTO> result = new PageEnvelope<>(content, paged.getNumber(), paged.getSize(), paged.getTotalElements(), paged.isLast());
+            Page<RecipeCardView> paged = recipeService.listTrending(p, s);
+            PageEnvelope<RecipeCardView> result = new PageEnvelope<>(paged.getContent(), paged.getNumber(), paged.getSize(), paged.getTotalElements(), paged.isLast());
             return ResponseEntity.ok(result);
         }
 
-        Page<Recipe> paged = recipeService.searchByText(q, p, s);
-        List<RecipeDTO> content = paged.getContent().stream().map(RecipeDTO::new).toList();
-        PageEnvelope<RecipeDTO> result = new PageEnvelope<>(content, paged.getNumber(), paged.getSize(), paged.getTotalElements(), paged.isLast());
+        Page<RecipeCardView> paged = recipeService.searchByText(q, p, s);
+        PageEnvelope<RecipeCardView> result = new PageEnvelope<>(paged.getContent(), paged.getNumber(), paged.getSize(), paged.getTotalElements(), paged.isLast());
         return ResponseEntity.ok(result);
     }
 
@@ -0,0 +1,82 @@
+package com.example.BMN.Recipe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Startup backfill of {@code recipe.create_date} for legacy rows that never got one.
+ *
+ * Author recipe lists page by (create_date, id), so a NULL date breaks the keyset cursor.
+ * Ids grow with insertion order, so each NULL row takes the date of the nearest older dated
+ * recipe (or the nearest newer one when none is older). Backfilled rows therefore keep their
+ * place in the list instead of jumping to the top with a fake "now".
+ *
+ * Only NULL rows are touched, so once they are filled every later startup is a single empty
+ * lookup. Disable with `app.migrate.recipe-create-date=false`.
+ */
+@Component
+public class RecipeCreateDateBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeCreateDateBackfillRunner.class);
+
+    private static final int BATCH = 500;
+
+    private final JdbcTemplate jdbc;
+    private final Environment env;
+
+    public RecipeCreateDateBackfillRunner(JdbcTemplate jdbc, Environment env) {
+        this.jdbc = jdbc;
+        this.env = env;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean enabled = Boolean.parseBoolean(env.getProperty("app.migrate.recipe-create-date", "true"));
+        if (!enabled) {
+            log.debug("RecipeCreateDateBackfillRunner disabled (app.migrate.recipe-create-date=false)");
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            int filled = 0;
+            long afterId = 0L;
+            while (true) {
+                List<Long> ids = jdbc.queryForList(
+                        "SELECT id FROM recipe WHERE create_date IS NULL AND id > ? ORDER BY id LIMIT " + BATCH,
+                        Long.class, afterId);
+                if (ids.isEmpty()) break;
+                for (Long id : ids) {
+                    // Earlier NULL rows are already filled, so this stops at the row right before.
+                    Timestamp at = neighbourDate(
+                            "SELECT create_date FROM recipe WHERE id < ? AND create_date IS NOT NULL ORDER BY id DESC LIMIT 1", id);
+                    if (at == null) {
+                        at = neighbourDate(
+                                "SELECT create_date FROM recipe WHERE id > ? AND create_date IS NOT NULL ORDER BY id LIMIT 1", id);
+                    }
+                    if (at == null) at = new Timestamp(System.currentTimeMillis());
+                    filled += jdbc.update("UPDATE recipe SET create_date = ? WHERE id = ? AND create_date IS NULL", at, id);
+                    afterId = id;
+                }
+            }
+            if (filled > 0) {
+                log.info("RecipeCreateDateBackfillRunner: filled create_date on {} recipes ({} ms)",
+                        filled, System.currentTimeMillis() - started);
+            }
+        } catch (Exception e) {
+            log.warn("RecipeCreateDateBackfillRunner failed: {}", e.getMessage());
+        }
+    }
+
+    private Timestamp neighbourDate(String sql, Long id) {
+        List<Timestamp> rows = jdbc.queryForList(sql, Timestamp.class, id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
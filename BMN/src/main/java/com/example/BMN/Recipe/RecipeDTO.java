@@ -2,6 +2,8 @@
 package com.example.BMN.Recipe;
 
 import com.example.BMN.User.SiteUser;
+import com.example.BMN.storage.BlobResponses;
+import com.example.BMN.storage.ImageVariantService;
 import lombok.Data;
 import org.hibernate.Hibernate;
 
@@ -30,8 +32,9 @@ public class RecipeDTO {
     private String authorUsername;      // SiteUser.userName
     private String authorDisplayName;   // 닉네임 필드가 있으면 매핑(없으면 null)
 
-    // 미디어
+    // 미디어 (thumbnailUrl: 원본, thumbnailCardUrl: 목록 카드용 축소본)
     private String thumbnailUrl;
+    private String thumbnailCardUrl;
 
     // 메타
     private Double averageRating;   // 정규화된 평균 별점
@@ -77,8 +80,10 @@ public class RecipeDTO {
         }
 
         // 썸네일 URL
-        if (r.getThumbnail() != null && r.getThumbnail().length > 0) {
-            this.thumbnailUrl = "/recipe/thumbnail/" + r.getId();
+        if (r.hasThumbnail()) {
+            this.thumbnailUrl = BlobResponses.versionedUrl("/recipe/thumbnail/" + r.getId(), r.getThumbnailKey());
+            this.thumbnailCardUrl = BlobResponses.variantUrl("/recipe/thumbnail/" + r.getId(), r.getThumbnailKey(),
+                    ImageVariantService.CARD_WIDTH);
         }
 
         // 메타
@@ -143,6 +148,7 @@ public class RecipeDTO {
         private Integer stepOrder;   // 프론트 호환: 엔티티 stepIndex → stepOrder로 노출
         private String description;  // 프론트 호환: 엔티티 caption → description로 노출
         private String imageUrl;
+        private String imageDetailUrl; // 상세 화면용 축소본 (원본이 더 작으면 원본 폭)
         private String videoUrl;
         private String type; // image | video
 
@@ -150,8 +156,10 @@ public class RecipeDTO {
             this.id = s.getId();
             this.stepOrder = s.getStepIndex();
             this.description = s.getCaption();
-            if (s.getImage() != null && s.getImage().length > 0) {
-                this.imageUrl = "/recipe/steps/" + s.getId() + "/image";
+            if (s.hasImage()) {
+                this.imageUrl = BlobResponses.versionedUrl("/recipe/steps/" + s.getId() + "/image", s.getImageKey());
+                this.imageDetailUrl = BlobResponses.variantUrl("/recipe/steps/" + s.getId() + "/image", s.getImageKey(),
+                        ImageVariantService.DETAIL_WIDTH);
                 this.type = "image";
             } else if (s.getVideoUrl() != null && !s.getVideoUrl().isBlank()) {
                 this.videoUrl = s.getVideoUrl();
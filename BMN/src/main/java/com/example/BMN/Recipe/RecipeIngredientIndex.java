@@ -0,0 +1,147 @@
+package com.example.BMN.Recipe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재료 정규화명(nameNorm) → 레시피 ID posting list 역색인 (인메모리)
+ *
+ * - 기동 시 recipe_ingredient 의 (recipe_id, name, nameNorm) 만 읽어서 구성
+ * - 레시피 생성/수정/삭제 시 RecipeService 가 put/remove 로 갱신
+ * - 냉장고 추천은 냉장고 재료의 posting list 만 조회하므로 전체 레시피를 스캔하지 않는다.
+ *
+ * 색인은 후보 선별용이다. 최종 매칭 결과는 후보 레시피의 실제 재료 행으로 다시 계산한다.
+ */
+@Component
+public class RecipeIngredientIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeIngredientIndex.class);
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    // nameNorm → recipeId 집합
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    // recipeId → 해당 레시피의 (중복 제거된) nameNorm 집합 (삭제/교체 시 posting 정리용)
+    private final Map<Long, Set<String>> normsByRecipe = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public RecipeIngredientIndex(RecipeIngredientRepository recipeIngredientRepository) {
+        this.recipeIngredientRepository = recipeIngredientRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureLoaded();
+    }
+
+    /** 재료 행 하나의 색인 키 (nameNorm 이 비어 있으면 원본명을 정규화) */
+    public static String normOf(String name, String nameNorm) {
+        if (nameNorm != null && !nameNorm.isBlank()) return nameNorm;
+        String raw = name == null ? "" : name.trim();
+        String norm = IngredientNormalizer.normalizeOne(raw);
+        if (norm == null || norm.isBlank()) norm = raw.toLowerCase();
+        return norm;
+    }
+
+    /** DB 기준으로 전체 색인을 다시 만든다. */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, Set<String>> byRecipe = new HashMap<>();
+        for (RecipeIngredientRepository.NormRow row : recipeIngredientRepository.findAllNormRows()) {
+            if (row.getRecipeId() == null) continue;
+            String norm = normOf(row.getName(), row.getNameNorm());
+            if (norm.isBlank()) continue;
+            byRecipe.computeIfAbsent(row.getRecipeId(), k -> new HashSet<>()).add(norm);
+        }
+
+        postings.clear();
+        normsByRecipe.clear();
+        byRecipe.forEach(this::putInternal);
+        loaded = true;
+        log.info("RecipeIngredientIndex built: recipes={}, terms={} ({} ms)",
+                normsByRecipe.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /** 레시피의 재료 행으로 색인을 교체한다. */
+    public synchronized void put(Long recipeId, Collection<RecipeIngredient> rows) {
+        if (recipeId == null) return;
+        Set<String> norms = new HashSet<>();
+        if (rows != null) {
+            for (RecipeIngredient ri : rows) {
+                if (ri == null) continue;
+                String norm = normOf(ri.getName(), ri.getNameNorm());
+                if (!norm.isBlank()) norms.add(norm);
+            }
+        }
+        removeInternal(recipeId);
+        putInternal(recipeId, norms);
+    }
+
+    public synchronized void remove(Long recipeId) {
+        if (recipeId == null) return;
+        removeInternal(recipeId);
+    }
+
+    /**
+     * 주어진 정규화명 중 하나 이상을 가진 레시피들을 찾는다.
+     * @return recipeId → (해당 레시피가 가진 정규화명 중 일치한 것들)
+     */
+    public Map<Long, Set<String>> match(Collection<String> norms) {
+        ensureLoaded();
+        Map<Long, Set<String>> hits = new HashMap<>();
+        if (norms == null) return hits;
+        for (String norm : norms) {
+            Set<Long> ids = postings.get(norm);
+            if (ids == null) continue;
+            for (Long id : ids) {
+                hits.computeIfAbsent(id, k -> new LinkedHashSet<>()).add(norm);
+            }
+        }
+        return hits;
+    }
+
+    /** 레시피의 서로 다른 재료(정규화명) 개수 */
+    public int termCount(Long recipeId) {
+        Set<String> norms = normsByRecipe.get(recipeId);
+        return norms == null ? 0 : norms.size();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) rebuild();
+            }
+        }
+    }
+
+    private void putInternal(Long recipeId, Set<String> norms) {
+        if (norms.isEmpty()) return;
+        normsByRecipe.put(recipeId, Set.copyOf(norms));
+        for (String norm : norms) {
+            postings.computeIfAbsent(norm, k -> ConcurrentHashMap.newKeySet()).add(recipeId);
+        }
+    }
+
+    private void removeInternal(Long recipeId) {
+        Set<String> old = normsByRecipe.remove(recipeId);
+        if (old == null) return;
+        for (String norm : old) {
+            Set<Long> ids = postings.get(norm);
+            if (ids == null) continue;
+            ids.remove(recipeId);
+            if (ids.isEmpty()) postings.remove(norm);
+        }
+    }
+}
@@ -1,11 +1,35 @@
 // src/main/java/com/example/BMN/Recipe/RecipeIngredientRepository.java
 package com.example.BMN.Recipe;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
     List<RecipeIngredient> findByRecipeIdOrderByPositionAsc(Long recipeId);
     long deleteByRecipeId(Long recipeId);
-}
\ No newline at end of file
+
+    // 후보 레시피들의 재료 행을 한 번에 조회 (추천 시 N+1 방지)
+    List<RecipeIngredient> findByRecipeIdInOrderByPositionAsc(Collection<Long> recipeIds);
+
+    // 역색인/검색 색인 구성용: 엔티티 대신 필요한 컬럼만 조회
+    @Query("select ri.recipe.id as recipeId, ri.name as name, ri.nameNorm as nameNorm from RecipeIngredient ri")
+    List<NormRow> findAllNormRows();
+
+    @Query("select ri.recipe.id as recipeId, ri.name as name, ri.nameNorm as nameNorm from RecipeIngredient ri where ri.recipe.id in :recipeIds")
+    List<NormRow> findNormRowsByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // 사용 빈도 상위 재료 (가격 기록 갱신 대상)
+    @Query("select ri.nameNorm from RecipeIngredient ri group by ri.nameNorm order by count(ri) desc, ri.nameNorm asc")
+    List<String> findTopNameNorms(Pageable pageable);
+
+    interface NormRow {
+        Long getRecipeId();
+        String getName();
+        String getNameNorm();
+    }
+}
@@ -2,6 +2,7 @@
 package com.example.BMN.Recipe;
 
 import com.example.BMN.User.SiteUser;
+import com.example.BMN.storage.StoredBlob;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -17,17 +18,12 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     List<Recipe> findBySubjectLike(String subject);
     Recipe findBySubjectAndDescription(String subject, String description);
 
-    @EntityGraph(attributePaths = {"author"})
-    Page<Recipe> findAllBy(Pageable pageable);
-
     @EntityGraph(attributePaths = {"author"})
     java.util.Optional<Recipe> findWithAuthorById(Long id);
 
     @EntityGraph(attributePaths = {"author", "stepImages"})
     java.util.Optional<Recipe> findWithAuthorAndStepsById(Long id);
 
-    @EntityGraph(attributePaths = {"author"})
-    List<Recipe> findAllByAuthorOrderByIdDesc(SiteUser author);
     List<Recipe> findByIdIn(List<Long> ids);
 
     /* ------------------ 정렬용 조회 ------------------ */
@@ -39,19 +35,76 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     @EntityGraph(attributePaths = {"author"})
     Page<Recipe> findByAuthor(SiteUser author, Pageable pageable);
 
-    /* ------------------ 검색 (간단한 텍스트 검색) ------------------ */
-    @EntityGraph(attributePaths = {"author"})
-    @Query(value = "SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.author LEFT JOIN r.ingredientRows ir " +
-        "WHERE LOWER(r.subject) LIKE %:q% OR r.description LIKE %:q% OR LOWER(ir.name) LIKE %:q%",
-        countQuery = "SELECT COUNT(DISTINCT r) FROM Recipe r LEFT JOIN r.ingredientRows ir " +
-            "WHERE LOWER(r.subject) LIKE %:q% OR r.description LIKE %:q% OR LOWER(ir.name) LIKE %:q%")
-    Page<Recipe> searchByText(@Param("q") String q, Pageable pageable);
+    /* ------------------ 검색 색인 구성용 ------------------ */
+
+    /** 검색 색인 구성용: id 기준 keyset 페이지로 필요한 컬럼만 조회 */
+    @Query("SELECT r.id AS id, r.subject AS subject, r.description AS description " +
+        "FROM Recipe r WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<SearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface SearchRow {
+        Long getId();
+        String getSubject();
+        String getDescription();
+    }
+
+    /* ------------------ 목록 카드 프로젝션 ------------------ */
+
+    String CARD_SELECT = "SELECT new com.example.BMN.Recipe.RecipeCardView(" +
+        "r.id, r.subject, r.cookingTimeMinutes, r.estimatedPrice, r.createDate, " +
+        "a.id, a.userName, a.nickname, r.thumbnailKey, " +
+        "r.averageRating, r.ratingCount, r.favoriteCount, r.viewCount, r.trendingScore) " +
+        "FROM Recipe r LEFT JOIN r.author a ";
+
+    /** 트렌딩 카드 페이지 (OFFSET) */
+    @Query(value = CARD_SELECT + "ORDER BY r.trendingScore DESC, r.id DESC",
+        countQuery = "SELECT COUNT(r) FROM Recipe r")
+    Page<RecipeCardView> findTrendingCards(Pageable pageable);
+
+    /** 트렌딩 카드 첫 페이지 (COUNT 없음) */
+    @Query(CARD_SELECT + "ORDER BY r.trendingScore DESC, r.id DESC")
+    List<RecipeCardView> findTrendingCardsFirst(Pageable pageable);
+
+    /** 트렌딩 카드 다음 페이지: (trendingScore, id) 가 커서보다 뒤인 행 */
+    @Query(CARD_SELECT + "WHERE r.trendingScore < :score OR (r.trendingScore = :score AND r.id < :id) " +
+        "ORDER BY r.trendingScore DESC, r.id DESC")
+    List<RecipeCardView> findTrendingCardsAfter(@Param("score") Double score, @Param("id") Long id, Pageable pageable);
+
+    /** ID 목록의 카드 (검색 결과용, 순서는 호출측에서 맞춘다) */
+    @Query(CARD_SELECT + "WHERE r.id IN :ids")
+    List<RecipeCardView> findCardsByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
+    /** 작성자의 카드 목록 (최신 작성순, idx_recipe_author_date) */
+    @Query(CARD_SELECT + "WHERE r.author.id = :authorId ORDER BY r.createDate DESC, r.id DESC")
+    List<RecipeCardView> findCardsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    /** 작성자의 카드 다음 페이지: (createDate, id) 가 커서보다 뒤인 행 */
+    @Query(CARD_SELECT + "WHERE r.author.id = :authorId " +
+        "AND (r.createDate < :createDate OR (r.createDate = :createDate AND r.id < :id)) " +
+        "ORDER BY r.createDate DESC, r.id DESC")
+    List<RecipeCardView> findCardsByAuthorIdAfter(@Param("authorId") Long authorId,
+                                                  @Param("createDate") java.time.LocalDateTime createDate,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Recipe r WHERE r.author.id = :authorId")
+    long countByAuthorId(@Param("authorId") Long authorId);
+
+    /* ------------------ 미디어 ------------------ */
+
+    /** 썸네일 메타데이터만 조회 (엔티티 로딩 없이) */
+    @Query("SELECT new com.example.BMN.storage.StoredBlob(r.thumbnailKey, r.thumbnailSize, r.thumbnailContentType) " +
+        "FROM Recipe r WHERE r.id = :id AND r.thumbnailKey IS NOT NULL")
+    java.util.Optional<StoredBlob> findThumbnailBlob(@Param("id") Long id);
 
     /* ------------------ 원자적 증감 쿼리 ------------------ */
 
+    /** 즐겨찾기 수 (레시피가 없으면 empty) */
+    @Query("SELECT r.favoriteCount FROM Recipe r WHERE r.id = :id")
+    java.util.Optional<Integer> findFavoriteCount(@Param("id") Long id);
+
     /** 즐겨찾기 수 +1 */
     @Modifying
-    @Query("UPDATE Recipe r SET r.favoriteCount = r.favoriteCount + 1 WHERE r.id = :id")
+    @Query("UPDATE Recipe r SET r.favoriteCount = r.favoriteCount + 1, r.trendingDirty = true WHERE r.id = :id")
     void increaseFavoriteCount(@Param("id") Long id);
 
     /** 즐겨찾기 수 -1 (0 미만 방지) */
@@ -61,11 +114,31 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
         SET r.favoriteCount = CASE
             WHEN r.favoriteCount > 0 THEN r.favoriteCount - 1
             ELSE 0
-        END
+        END,
+            r.trendingDirty = true
         WHERE r.id = :id
         """)
     void decreaseFavoriteCount(@Param("id") Long id);
 
+    /**
+     * 평점 합계/개수 증감 + 평균 재계산 (댓글 작성/수정/삭제 시)
+     * averageRating 을 먼저 대입: MySQL 은 SET 절을 왼쪽부터 적용하므로 이전 값 기준으로 계산되어야 한다.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Recipe r
+        SET r.averageRating = CASE
+                WHEN r.ratingCount + :countDelta > 0
+                THEN (COALESCE(r.ratingSum, 0) + :sumDelta) * 1.0 / (r.ratingCount + :countDelta)
+                ELSE 0.0
+            END,
+            r.ratingSum = COALESCE(r.ratingSum, 0) + :sumDelta,
+            r.ratingCount = r.ratingCount + :countDelta,
+            r.trendingDirty = true
+        WHERE r.id = :id
+        """)
+    int applyRatingDelta(@Param("id") Long id, @Param("sumDelta") long sumDelta, @Param("countDelta") int countDelta);
+
     /** 특정 작성자의 모든 레시피의 author를 null로 설정 (회원 탈퇴 시 사용) */
     @Modifying
     @Query("UPDATE Recipe r SET r.author = null WHERE r.author = :author")
@@ -1,11 +1,18 @@
 // src/main/java/com/example/BMN/Recipe/RecipeService.java
 package com.example.BMN.Recipe;
 
+import com.example.BMN.CursorPage;
 import com.example.BMN.DataNotFoundException;
+import com.example.BMN.Ingredient.IngredientPriceService;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserRepository;
 import com.example.BMN.fridge.Ingredient;
 import com.example.BMN.fridge.IngredientRepository;
+import com.example.BMN.search.RecipeSearchIndex;
+import com.example.BMN.storage.BlobResponses;
+import com.example.BMN.storage.BlobStore;
+import com.example.BMN.storage.ImageVariantService;
+import com.example.BMN.storage.StoredBlob;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,10 +22,11 @@ import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -29,6 +37,9 @@ import java.util.stream.Collectors;
 @Service
 public class RecipeService {
 
+    // 작성자별 목록 한 번의 응답 상한 (배열 응답 호환 모드 포함)
+    public static final int AUTHOR_LIST_MAX = 500;
+
     private final RecipeRepository recipeRepository;
     private final RecipeStepImageRepository recipeStepImageRepository;
     private final UserRepository userRepository;
@@ -39,6 +50,23 @@ public class RecipeService {
     // 즐겨찾기(조인) 리포지토리
     private final FavoriteRepository favoriteRepository;
 
+    // 재료 행 / 재료 역색인 (냉장고 추천)
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+
+    // 전문 검색 색인
+    private final RecipeSearchIndex recipeSearchIndex;
+
+    // 이미지 파일 저장소 (DB 에는 키만 저장)
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+
+    // 조회수 write-behind 버퍼
+    private final ViewCountBuffer viewCountBuffer;
+
+    // 재료 가격 기록 (예상 가격 자동 계산)
+    private final IngredientPriceService ingredientPriceService;
+
     /* ---------------- 공통 유틸 ---------------- */
 
     private SiteUser resolveCurrentAuthor(SiteUser fromController) {
@@ -50,6 +78,51 @@ public class RecipeService {
         return userRepository.findByUserName(username).orElse(null);
     }
 
+    /** 트랜잭션 커밋 이후에 실행 (트랜잭션 밖이면 즉시 실행) */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** 커밋 후 재료 역색인/검색 색인 갱신 (롤백되면 색인도 건드리지 않음) */
+    private void reindexAfterCommit(Recipe recipe) {
+        if (recipe == null || recipe.getId() == null) return;
+        Long id = recipe.getId();
+        String subject = recipe.getSubject();
+        String description = recipe.getDescription();
+        List<RecipeIngredient> rows = recipe.getIngredientRows() == null
+                ? List.of() : new ArrayList<>(recipe.getIngredientRows());
+        List<String> names = rows.stream().map(RecipeIngredient::getName).toList();
+        afterCommit(() -> {
+            recipeIngredientIndex.put(id, rows);
+            recipeSearchIndex.put(id, subject, description, names);
+        });
+    }
+
+    private void storeThumbnail(Recipe recipe, MultipartFile file) throws IOException {
+        StoredBlob blob = blobStore.put(file.getBytes(), file.getContentType());
+        recipe.setThumbnailKey(blob.key());
+        recipe.setThumbnailSize(blob.size());
+        recipe.setThumbnailContentType(blob.contentType());
+        imageVariantService.schedule(blob.key());
+    }
+
+    private void storeStepImage(RecipeStepImage step, MultipartFile file) throws IOException {
+        StoredBlob blob = blobStore.put(file.getBytes(), file.getContentType());
+        step.setImageKey(blob.key());
+        step.setImageSize(blob.size());
+        step.setImageContentType(blob.contentType());
+        imageVariantService.schedule(blob.key());
+    }
+
     public SiteUser findUserByUsername(String username) {
         if (username == null || username.isBlank()) return null;
         return userRepository.findByUserName(username).orElse(null);
@@ -92,12 +165,17 @@ public class RecipeService {
 
         // 썸네일
         if (thumbnail != null && !thumbnail.isEmpty()) {
-            recipe.setThumbnail(thumbnail.getBytes());
+            storeThumbnail(recipe, thumbnail);
         }
 
         // 재료 rows
         replaceIngredients(recipe, ingredients);
 
+        // 예상 가격을 입력하지 않았으면 재료별 최저가 기록으로 채움
+        if (estimatedPrice == null) {
+            recipe.setEstimatedPrice(estimatePriceFromRows(recipe));
+        }
+
         // 스텝(이미지/영상) 저장
         if (stepTypes != null && !stepTypes.isEmpty()) {
             int idx = 1;
@@ -112,14 +190,13 @@ public class RecipeService {
                     step.setStepIndex(idx++);
                     step.setCaption(cap);
                     step.setVideoUrl(url.trim());
-                    step.setImage(null);
                     recipe.addStepImage(step);
                 } else {
                     MultipartFile f = (stepImages != null && imageCursor < stepImages.size()) ? stepImages.get(imageCursor++) : null;
                     if (f == null || f.isEmpty()) continue;
                     RecipeStepImage step = new RecipeStepImage();
                     step.setStepIndex(idx++);
-                    step.setImage(f.getBytes());
+                    storeStepImage(step, f);
                     step.setVideoUrl(null);
                     step.setCaption(cap);
                     recipe.addStepImage(step);
@@ -132,7 +209,7 @@ public class RecipeService {
                 if (f == null || f.isEmpty()) continue;
                 RecipeStepImage step = new RecipeStepImage();
                 step.setStepIndex(idx++);
-                step.setImage(f.getBytes());
+                storeStepImage(step, f);
                 step.setVideoUrl(null);
                 String cap = (captions != null && captions.size() > i) ? captions.get(i) : null;
                 step.setCaption(cap);
@@ -145,8 +222,12 @@ public class RecipeService {
         if (recipe.getRatingCount() == null) recipe.setRatingCount(0);
         if (recipe.getViewCount() == null) recipe.setViewCount(0L);
         if (recipe.getFavoriteCount() == null) recipe.setFavoriteCount(0);
+        recipe.setTrendingScore(TrendingScoreJob.score(0, 0, 0.0, 0, recipe.getCreateDate(), recipe.getCreateDate()));
+        recipe.setTrendingDirty(false);
 
-        return recipeRepository.save(recipe).getId();
+        Recipe saved = recipeRepository.save(recipe);
+        reindexAfterCommit(saved);
+        return saved.getId();
     }
 
     /* ---------------- 수정(보존) ---------------- */
@@ -181,11 +262,14 @@ public class RecipeService {
         if (estimatedPrice != null)      recipe.setEstimatedPrice(estimatedPrice);
 
         if (thumbnail != null && !thumbnail.isEmpty()) {
-            recipe.setThumbnail(thumbnail.getBytes());
+            storeThumbnail(recipe, thumbnail);
         }
 
         if (ingredients != null) {
             replaceIngredients(recipe, ingredients);
+            if (estimatedPrice == null && recipe.getEstimatedPrice() == null) {
+                recipe.setEstimatedPrice(estimatePriceFromRows(recipe));
+            }
         }
 
         if (removeStepIds != null && !removeStepIds.isEmpty()) {
@@ -213,14 +297,13 @@ public class RecipeService {
                     step.setStepIndex(nextIndex++);
                     step.setCaption(cap);
                     step.setVideoUrl(url.trim());
-                    step.setImage(null);
                     recipe.addStepImage(step);
                 } else {
                     MultipartFile f = (newStepImages != null && imageCursor < newStepImages.size()) ? newStepImages.get(imageCursor++) : null;
                     if (f == null || f.isEmpty()) continue;
                     RecipeStepImage step = new RecipeStepImage();
                     step.setStepIndex(nextIndex++);
-                    step.setImage(f.getBytes());
+                    storeStepImage(step, f);
                     step.setVideoUrl(null);
                     step.setCaption(cap);
                     recipe.addStepImage(step);
@@ -232,7 +315,7 @@ public class RecipeService {
                 if (f == null || f.isEmpty()) continue;
                 RecipeStepImage step = new RecipeStepImage();
                 step.setStepIndex(nextIndex++);
-                step.setImage(f.getBytes());
+                storeStepImage(step, f);
                 step.setVideoUrl(null);
                 String cap = (captionsForNewSteps != null && captionsForNewSteps.size() > i)
                         ? captionsForNewSteps.get(i) : null;
@@ -251,14 +334,33 @@ public class RecipeService {
                 si.setStepIndex(idx++);
             }
         }
-        return recipeRepository.save(recipe).getId();
+        Recipe saved = recipeRepository.save(recipe);
+        reindexAfterCommit(saved);
+        return saved.getId();
+    }
+
+    /**
+     * 재료 행의 nameNorm 으로 ingredient_price_snapshot 최신 최저가 합
+     * - 가격 기록이 없는 재료가 하나라도 있으면 null (일부 합계가 레시피 가격으로 굳지 않도록)
+     */
+    private Integer estimatePriceFromRows(Recipe recipe) {
+        if (recipe.getIngredientRows() == null || recipe.getIngredientRows().isEmpty()) return null;
+        List<String> norms = recipe.getIngredientRows().stream()
+                .map(RecipeIngredient::getNameNorm)
+                .toList();
+        IngredientPriceService.Estimate estimate = ingredientPriceService.estimate(norms);
+        if (estimate.missing() != null && !estimate.missing().isEmpty()) return null;
+        return estimate.total();
     }
 
     /* ---------------- 재료 교체 ---------------- */
     @Transactional
     public void replaceIngredients(Recipe recipe, List<RecipeIngredientDTO> items) {
         if (recipe.getIngredientRows() != null) recipe.getIngredientRows().clear();
-        if (items == null || items.isEmpty()) return;
+        if (items == null || items.isEmpty()) {
+            reindexAfterCommit(recipe);
+            return;
+        }
 
         int posCounter = 0;
         for (RecipeIngredientDTO dto : items) {
@@ -287,6 +389,8 @@ public class RecipeService {
                     Comparator.nullsLast(Integer::compareTo)
             ));
         }
+        // 신규 레시피(id 없음)는 createRecipe 에서 저장 후 색인
+        reindexAfterCommit(recipe);
     }
 
     /* ---------------- 기본 조회/삭제 ---------------- */
@@ -330,17 +434,17 @@ public class RecipeService {
             throw new SecurityException("본인만 삭제할 수 있습니다.");
         }
         recipeRepository.delete(recipe);
+        afterCommit(() -> {
+            recipeIngredientIndex.remove(recipeId);
+            recipeSearchIndex.remove(recipeId);
+        });
     }
 
     /* ---------------- 조회수/즐겨찾기 ---------------- */
 
-    // 조회수 +1
-    @Transactional
+    // 조회수 +1 (메모리 버퍼에 누적 → ViewCountBuffer 가 주기적으로 일괄 반영)
     public void increaseViewCount(Long recipeId) {
-        Recipe r = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new IllegalArgumentException("레시피가 존재하지 않습니다."));
-        Long vc = (r.getViewCount() == null) ? 0L : r.getViewCount();
-        r.setViewCount(vc + 1);
+        viewCountBuffer.increment(recipeId);
     }
 
     @Data @AllArgsConstructor
@@ -354,47 +458,41 @@ public class RecipeService {
     public boolean isFavorited(Long recipeId) {
         SiteUser me = resolveCurrentAuthor(null);
         if (me == null) return false;
-        Recipe r = getRecipe(recipeId);
-        return favoriteRepository.existsByUserAndRecipe(me, r);
+        return favoriteRepository.existsByUserIdAndRecipeId(me.getId(), recipeId);
     }
 
-    /** 레시피 즐겨찾기 총 개수 */
+    /** 레시피 즐겨찾기 총 개수 (recipe.favorite_count 컬럼) */
     @Transactional
     public int getFavoriteCount(Long recipeId) {
-        Recipe r = getRecipe(recipeId);
-        return favoriteRepository.countByRecipe(r);
+        return recipeRepository.findFavoriteCount(recipeId)
+                .orElseThrow(() -> new DataNotFoundException("recipe not found"));
     }
 
-    /** 즐겨찾기 추가: 조인 행 INSERT + 카운트 원자적 +1 */
+    /**
+     * 즐겨찾기 추가: 조건부 INSERT(없을 때만) + 실제로 추가된 경우에만 카운트 원자적 +1
+     * 레시피 엔티티는 로딩하지 않고 ID 로만 처리한다.
+     */
     @Transactional
     public FavoriteResult addFavorite(Long recipeId) {
         SiteUser me = resolveCurrentAuthor(null);
         if (me == null) throw new SecurityException("로그인이 필요합니다.");
-        Recipe r = getRecipe(recipeId);
 
-        if (!favoriteRepository.existsByUserAndRecipe(me, r)) {
-            favoriteRepository.save(new Favorite(me, r));
-            // 원자적 카운트 +1 (RecipeRepository에 @Modifying 쿼리 필요)
-            recipeRepository.increaseFavoriteCount(r.getId());
+        if (favoriteRepository.insertIfAbsent(me.getId(), recipeId, LocalDateTime.now()) > 0) {
+            recipeRepository.increaseFavoriteCount(recipeId);
         }
-        int cnt = favoriteRepository.countByRecipe(r);
-        return new FavoriteResult(true, cnt);
+        return new FavoriteResult(true, getFavoriteCount(recipeId));
     }
 
-    /** 즐겨찾기 해제: 조인 행 DELETE + 카운트 원자적 -1 (0 미만 방지) */
+    /** 즐겨찾기 해제: DELETE + 실제로 삭제된 경우에만 카운트 원자적 -1 (0 미만 방지) */
     @Transactional
     public FavoriteResult removeFavorite(Long recipeId) {
         SiteUser me = resolveCurrentAuthor(null);
         if (me == null) throw new SecurityException("로그인이 필요합니다.");
-        Recipe r = getRecipe(recipeId);
 
-        if (favoriteRepository.existsByUserAndRecipe(me, r)) {
-            favoriteRepository.deleteByUserAndRecipe(me, r);
-            // 원자적 카운트 -1
-            recipeRepository.decreaseFavoriteCount(r.getId());
+        if (favoriteRepository.deleteByUserIdAndRecipeId(me.getId(), recipeId) > 0) {
+            recipeRepository.decreaseFavoriteCount(recipeId);
         }
-        int cnt = favoriteRepository.countByRecipe(r);
-        return new FavoriteResult(false, cnt);
+        return new FavoriteResult(false, getFavoriteCount(recipeId));
     }
 
     /** (선택) 과거 데이터 보정용: 조인테이블 기준으로 컬럼을 재계산하여 저장 */
@@ -430,116 +528,75 @@ public class RecipeService {
         return recipeRepository.findAll(pageable);
     }
 
-    /** ✅ 트렌딩 정렬(중복 방지 안정 페이징) */
+    /** ✅ 트렌딩 정렬: 미리 계산된 trending_score 인덱스로 바로 페이징 (TrendingScoreJob), 카드 프로젝션 */
     @Transactional
-    public Page<Recipe> listTrending(int page, int size) {
+    public Page<RecipeCardView> listTrending(int page, int size) {
         int p = Math.max(0, page);
-        int s = Math.max(1, size);
-
-        // 1) DB에서 **안정 정렬**로 먼저 페이징 (중복 방지 핵심)
-        Pageable pageable = PageRequest.of(p, s, Sort.by(
-                Sort.Order.desc("favoriteCount"),
-                Sort.Order.desc("viewCount"),
-                Sort.Order.desc("averageRating"),
-                Sort.Order.desc("ratingCount"),
-                Sort.Order.desc("createDate"),
-                Sort.Order.desc("id")
-        ));
-
-        Page<Recipe> basePage = recipeRepository.findAllBy(pageable);
-        List<Recipe> baseList = basePage.getContent();
-        if (baseList.isEmpty()) {
-            return basePage; // 그대로 반환
+        int s = Math.min(Math.max(1, size), 100);
+        return recipeRepository.findTrendingCards(PageRequest.of(p, s));
+    }
+
+    /** ✅ 트렌딩 커서 페이징: after 가 비어 있으면 첫 페이지, COUNT 는 withTotal 일 때만 */
+    @Transactional
+    public CursorPage<RecipeCardView> listTrendingAfter(String after, int size, boolean withTotal) {
+        int s = Math.min(Math.max(1, size), 100);
+        Pageable limit = PageRequest.of(0, s + 1);
+
+        List<RecipeCardView> fetched;
+        if (after == null || after.isBlank()) {
+            fetched = recipeRepository.findTrendingCardsFirst(limit);
+        } else {
+            String[] key = CursorPage.decode(after, 2);
+            fetched = recipeRepository.findTrendingCardsAfter(Double.valueOf(key[0]), Long.valueOf(key[1]), limit);
         }
+        Long total = withTotal ? recipeRepository.count() : null;
+        return CursorPage.of(fetched, s, total,
+                r -> CursorPage.encode(Optional.ofNullable(r.getTrendingScore()).orElse(0.0), r.getId()));
+    }
 
-        // 2) 점수 계산용 데이터 (해당 페이지 범위에 대해서만)
-        Map<Long, Long> favCounts = favoriteRepository.countByRecipeIds(
-                baseList.stream().map(Recipe::getId).toList()
-        );
-
-        record Scored(Recipe r, double score) {}
-        LocalDateTime now = LocalDateTime.now();
-
-        // 3) 트렌딩 점수로 **페이지 내부** 미세 정렬 (전체 순서/페이징은 DB가 책임)
-        List<Scored> scored = baseList.stream()
-                .map(r -> {
-                    long views = Optional.ofNullable(r.getViewCount()).orElse(0L);
-                    double fav = favCounts.getOrDefault(r.getId(), 0L);
-                    double rating = Optional.ofNullable(r.getAverageRating()).orElse(0.0);
-                    long ratingCnt = Optional.ofNullable(r.getRatingCount()).orElse(0);
-                    long ageDays = (r.getCreateDate() != null)
-                            ? Math.max(0, Duration.between(r.getCreateDate(), now).toDays())
-                            : 365;
-
-                    double score = Math.log1p(views) * 1.0
-                            + fav * 3.0
-                            + rating * Math.log1p(ratingCnt) * 4.0
-                            + Math.exp(-ageDays / 14.0) * 15.0;
-                    return new Scored(r, score);
-                })
-                .sorted((a, b) -> {
-                    int cmp = Double.compare(b.score, a.score);
-                    return (cmp != 0) ? cmp : Long.compare(b.r.getId(), a.r.getId());
-                })
-                .toList(); // 페이지 내부 정렬만이므로 불변 OK
-
-        // 4) PageImpl로 반환 (총 개수/페이지 정보는 DB 페이지와 동일)
-        List<Recipe> pageContent = scored.stream().map(Scored::r).toList();
-        return new PageImpl<>(pageContent, basePage.getPageable(), basePage.getTotalElements());
-    }
-
-    /** 검색 (간단한 텍스트 기반, 페이징) */
+    /** 검색 (전문 검색 색인 기반, 전체 순위로 페이징) */
     @Transactional
-    public Page<Recipe> searchByText(String q, int page, int size) {
+    public Page<RecipeCardView> searchByText(String q, int page, int size) {
         if (q == null) q = "";
-        String lower = q.trim().toLowerCase();
         if (size <= 0) size = 12;
         if (page < 0) page = 0;
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Recipe> basePage = recipeRepository.searchByText(lower, pageable);
-        List<Recipe> baseList = basePage.getContent();
-        if (baseList.isEmpty()) return basePage;
-
-        // compute a lightweight similarity score combining text matches and simple signals
-        Map<Long, Long> favCounts = favoriteRepository.countByRecipeIds(
-                baseList.stream().map(Recipe::getId).toList()
-        );
-
-        record Scored(Recipe r, double score) {}
-        List<Scored> scored = baseList.stream().map(r -> {
-            double score = 0.0;
-            try {
-                String combined = ((r.getSubject() == null) ? "" : r.getSubject()) + "\n" +
-                        ((r.getDescription() == null) ? "" : r.getDescription());
-                String combinedLower = combined.toLowerCase();
-                if (combinedLower.contains(lower)) score += 50.0;
-                // extra weight for subject occurrences
-                if (r.getSubject() != null && r.getSubject().toLowerCase().contains(lower)) score += 30.0;
-            } catch (Exception ignored) {}
-
-            // ingredient name matches
-            try {
-                if (r.getIngredientRows() != null) {
-                    for (var ing : r.getIngredientRows()) {
-                        if (ing == null || ing.getName() == null) continue;
-                        if (ing.getName().toLowerCase().contains(lower)) score += 20.0;
-                    }
-                }
-            } catch (Exception ignored) {}
-
-            // trending signals
-            long views = Optional.ofNullable(r.getViewCount()).orElse(0L);
-            double fav = favCounts.getOrDefault(r.getId(), 0L);
-            double rating = Optional.ofNullable(r.getAverageRating()).orElse(0.0);
-            long ratingCnt = Optional.ofNullable(r.getRatingCount()).orElse(0);
-            score += Math.log1p(views) * 0.3 + fav * 1.0 + rating * Math.log1p(ratingCnt) * 1.5;
+        Page<Long> hits = recipeSearchIndex.search(q.trim(), pageable);
+        if (hits.isEmpty()) return new PageImpl<>(List.of(), pageable, hits.getTotalElements());
+
+        // 색인 순위를 유지한 채 해당 페이지의 카드만 조회
+        Map<Long, RecipeCardView> byId = new HashMap<>();
+        for (RecipeCardView c : recipeRepository.findCardsByIdIn(hits.getContent())) byId.put(c.getId(), c);
+        List<RecipeCardView> pageContent = hits.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(pageContent, pageable, hits.getTotalElements());
+    }
 
-            return new Scored(r, score);
-        }).sorted((a, b) -> Double.compare(b.score, a.score)).toList();
+    /** 작성자별 레시피 카드 (최신 작성순, 한 번에 최대 AUTHOR_LIST_MAX 개) */
+    @Transactional
+    public List<RecipeCardView> listCardsByAuthor(SiteUser author) {
+        if (author == null) return List.of();
+        return recipeRepository.findCardsByAuthorId(author.getId(), PageRequest.of(0, AUTHOR_LIST_MAX));
+    }
 
-        List<Recipe> pageContent = scored.stream().map(Scored::r).toList();
-        return new PageImpl<>(pageContent, basePage.getPageable(), basePage.getTotalElements());
+    /** ✅ 작성자별 커서 페이징: (createDate, id) 키셋, COUNT 는 withTotal 일 때만 */
+    @Transactional
+    public CursorPage<RecipeCardView> listCardsByAuthorAfter(SiteUser author, String after, int size, boolean withTotal) {
+        int s = Math.min(Math.max(1, size), AUTHOR_LIST_MAX);
+        Pageable limit = PageRequest.of(0, s + 1);
+
+        List<RecipeCardView> fetched;
+        if (after == null || after.isBlank()) {
+            fetched = recipeRepository.findCardsByAuthorId(author.getId(), limit);
+        } else {
+            CursorPage.TimeId key = CursorPage.decodeTimeId(after);
+            fetched = recipeRepository.findCardsByAuthorIdAfter(author.getId(), key.at(), key.id(), limit);
+        }
+        Long total = withTotal ? recipeRepository.countByAuthorId(author.getId()) : null;
+        return CursorPage.of(fetched, s, total, r -> CursorPage.encode(r.getCreateDate(), r.getId()));
     }
 
     /** 내가 작성한 레시피 (페이지네이션) */
@@ -594,23 +651,56 @@ public class RecipeService {
         }
         if (fridgeNorms.isEmpty()) return List.of();
 
-        List<Recipe> recipes = recipeRepository.findAll();
+        // 1) 역색인으로 냉장고 재료를 하나라도 가진 레시피만 후보로 선별 (전체 스캔 X)
+        Map<Long, Set<String>> hits = recipeIngredientIndex.match(fridgeNorms);
+        if (hits.isEmpty()) return List.of();
+
+        LocalDate today = LocalDate.now();
+
+        // 2) 색인 정보만으로 (일치율, 임박 유통기한) 1차 정렬 → limit 경계의 동점까지만 남긴다.
+        //    조리시간/ID 동점 처리는 실제 행을 읽은 뒤 아래 최종 정렬에서 한다.
+        record Candidate(Long id, int percent, Integer soonestDays) {}
+        Comparator<Candidate> preRank = (a, b) -> {
+            int c1 = Integer.compare(b.percent(), a.percent());
+            if (c1 != 0) return c1;
+            return compareSoonest(a.soonestDays(), b.soonestDays());
+        };
+
+        List<Candidate> candidates = new ArrayList<>(hits.size());
+        hits.forEach((id, matchedNorms) -> {
+            int total = recipeIngredientIndex.termCount(id);
+            if (total == 0) return;
+            int percent = (int) Math.round(100.0 * matchedNorms.size() / total);
+            candidates.add(new Candidate(id, percent, soonestDays(matchedNorms, normToSoonestExpire, today)));
+        });
+        candidates.sort(preRank);
+
+        int cut = candidates.size();
+        if (limit > 0 && cut > limit) {
+            Candidate edge = candidates.get(limit - 1);
+            cut = limit;
+            while (cut < candidates.size() && preRank.compare(candidates.get(cut), edge) == 0) cut++;
+        }
+        List<Long> candidateIds = candidates.subList(0, cut).stream().map(Candidate::id).toList();
+
+        // 3) 후보 레시피와 재료 행만 일괄 조회 (N+1 방지)
+        List<Recipe> recipes = recipeRepository.findAllById(candidateIds);
+        Map<Long, List<RecipeIngredient>> rowsByRecipe = new HashMap<>();
+        for (RecipeIngredient ri : recipeIngredientRepository.findByRecipeIdInOrderByPositionAsc(candidateIds)) {
+            if (ri.getRecipe() == null) continue;
+            rowsByRecipe.computeIfAbsent(ri.getRecipe().getId(), k -> new ArrayList<>()).add(ri);
+        }
 
         List<RecipeMatchDTO> out = new ArrayList<>();
         for (Recipe r : recipes) {
-            List<RecipeIngredient> rows = r.getIngredientRows();
+            List<RecipeIngredient> rows = rowsByRecipe.get(r.getId());
             if (rows == null || rows.isEmpty()) continue;
 
             LinkedHashMap<String, String> normToDisplay = new LinkedHashMap<>();
             for (RecipeIngredient ri : rows) {
-                String norm = ri.getNameNorm();
                 String disp = ri.getName();
-                if (norm == null || norm.isBlank()) {
-                    String raw = disp == null ? "" : disp.trim();
-                    norm = IngredientNormalizer.normalizeOne(raw);
-                    if (norm == null || norm.isBlank()) norm = raw.toLowerCase();
-                }
-                if (norm == null || norm.isBlank()) continue;
+                String norm = RecipeIngredientIndex.normOf(disp, ri.getNameNorm());
+                if (norm.isBlank()) continue;
                 normToDisplay.putIfAbsent(norm, disp == null ? norm : disp);
             }
             if (normToDisplay.isEmpty()) continue;
@@ -625,18 +715,11 @@ public class RecipeService {
             if (total == 0 || hit == 0) continue;
 
             int percent = (int) Math.round(100.0 * hit / total);
+            Integer soonestDays = soonestDays(matched, normToSoonestExpire, today);
 
-            Integer soonestDays = null;
-            LocalDate today = LocalDate.now();
-            for (String m : matched) {
-                LocalDate d = normToSoonestExpire.get(m);
-                if (d == null) continue;
-                int days = (int) ChronoUnit.DAYS.between(today, d);
-                soonestDays = (soonestDays == null) ? days : Math.min(soonestDays, days);
-            }
-
-            String thumb = (r.getThumbnail() != null && r.getThumbnail().length > 0)
-                    ? ("/recipe/thumbnail/" + r.getId())
+            String thumb = r.hasThumbnail()
+                    ? BlobResponses.variantUrl("/recipe/thumbnail/" + r.getId(), r.getThumbnailKey(),
+                            ImageVariantService.CARD_WIDTH)
                     : null;
 
             List<String> matchedNames = matched.stream().map(normToDisplay::get).toList();
@@ -664,14 +747,8 @@ public class RecipeService {
         out.sort((a, b) -> {
             int c1 = Integer.compare(b.getMatchPercent(), a.getMatchPercent());
             if (c1 != 0) return c1;
-            Integer da = a.getSoonestExpiryDays();
-            Integer db = b.getSoonestExpiryDays();
-            if (da == null && db != null) return 1;
-            if (da != null && db == null) return -1;
-            if (da != null && db != null) {
-                int c2 = Integer.compare(da, db);
-                if (c2 != 0) return c2;
-            }
+            int c2 = compareSoonest(a.getSoonestExpiryDays(), b.getSoonestExpiryDays());
+            if (c2 != 0) return c2;
             Integer ta = a.getCookingTimeMinutes();
             Integer tb = b.getCookingTimeMinutes();
             if (ta != null && tb != null) {
@@ -686,4 +763,26 @@ public class RecipeService {
         }
         return out;
     }
+
+    /** 일치한 재료 중 가장 임박한 유통기한까지 남은 일수 (없으면 null) */
+    private static Integer soonestDays(Collection<String> matchedNorms,
+                                       Map<String, LocalDate> normToSoonestExpire,
+                                       LocalDate today) {
+        Integer soonest = null;
+        for (String m : matchedNorms) {
+            LocalDate d = normToSoonestExpire.get(m);
+            if (d == null) continue;
+            int days = (int) ChronoUnit.DAYS.between(today, d);
+            soonest = (soonest == null) ? days : Math.min(soonest, days);
+        }
+        return soonest;
+    }
+
+    /** 임박 일수 오름차순, null 은 뒤로 */
+    private static int compareSoonest(Integer da, Integer db) {
+        if (da == null && db != null) return 1;
+        if (da != null && db == null) return -1;
+        if (da != null && db != null) return Integer.compare(da, db);
+        return 0;
+    }
 }
\ No newline at end of file
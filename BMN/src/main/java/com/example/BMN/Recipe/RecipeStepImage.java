@@ -19,10 +19,19 @@ public class RecipeStepImage {
     @Column(length = 300)
     private String caption;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] image;
+    // 이미지: 바이트는 BlobStore 에 두고 키/크기/타입만 보관
+    @Column(name = "image_key", length = 64)
+    private String imageKey;
+
+    @Column(name = "image_size")
+    private Long imageSize;
+
+    @Column(name = "image_content_type", length = 100)
+    private String imageContentType;
+
+    public boolean hasImage() {
+        return imageKey != null && !imageKey.isBlank();
+    }
 
     // 선택: 이미지 대신 유튜브 링크를 저장할 수 있다.
     @Column(length = 500)
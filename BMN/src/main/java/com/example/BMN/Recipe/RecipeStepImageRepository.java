@@ -1,6 +1,16 @@
 package com.example.BMN.Recipe;
 
+import com.example.BMN.storage.StoredBlob;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface RecipeStepImageRepository extends JpaRepository<RecipeStepImage, Long> {
+
+    /** 스텝 이미지 메타데이터만 조회 (엔티티 로딩 없이) */
+    @Query("SELECT new com.example.BMN.storage.StoredBlob(s.imageKey, s.imageSize, s.imageContentType) " +
+        "FROM RecipeStepImage s WHERE s.id = :id AND s.imageKey IS NOT NULL")
+    Optional<StoredBlob> findImageBlob(@Param("id") Long id);
 }
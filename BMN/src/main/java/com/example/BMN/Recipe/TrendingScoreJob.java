@@ -0,0 +1,146 @@
+package com.example.BMN.Recipe;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * recipe.trending_score 를 미리 계산해 두는 배치
+ *
+ * - 증분: 카운터(조회수/즐겨찾기/평점)가 바뀌어 trending_dirty = TRUE 인 레시피만 주기적으로 재계산
+ * - 전체: 하루 한 번 모든 레시피 재계산 → 시간 감쇠 항(작성 후 경과일) 반영
+ * - 기동 시: 점수가 아직 없는(trending_score IS NULL) 레시피만 채운다. (컬럼 추가 직후 한 번만 일이 있음)
+ *
+ * 목록(/recipe/data)은 (trending_score DESC, id DESC) 인덱스로 바로 페이징하므로
+ * 페이지가 바뀌어도 순위가 일관된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingScoreJob implements ApplicationRunner {
+
+    private static final int BATCH = 500;
+
+    private final JdbcTemplate jdbc;
+
+    /** 트렌딩 점수 (기존 listTrending 의 페이지 내 정렬식과 동일) */
+    public static double score(long views, long favorites, double rating, long ratingCount,
+                               LocalDateTime createDate, LocalDateTime now) {
+        long ageDays = (createDate != null)
+                ? Math.max(0, Duration.between(createDate, now).toDays())
+                : 365;
+        return Math.log1p(views) * 1.0
+                + favorites * 3.0
+                + rating * Math.log1p(ratingCount) * 4.0
+                + Math.exp(-ageDays / 14.0) * 15.0;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        recomputeMissing();
+    }
+
+    /** 점수가 없는 레시피만 계산 (idx_recipe_trending 의 NULL 구간만 읽으므로 채운 뒤에는 조회 한 번으로 끝) */
+    void recomputeMissing() {
+        int total = 0;
+        try {
+            while (true) {
+                List<Long> ids = jdbc.queryForList(
+                        "SELECT id FROM recipe WHERE trending_score IS NULL ORDER BY id LIMIT ?", Long.class, BATCH);
+                if (ids.isEmpty()) break;
+                String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+                total += recompute("WHERE id IN (" + in + ")", ids.toArray());
+                jdbc.update("UPDATE recipe SET trending_dirty = FALSE WHERE trending_dirty IS NULL AND id IN (" + in + ")",
+                        ids.toArray());
+                if (ids.size() < BATCH) break;
+            }
+        } catch (Exception e) {
+            log.warn("Trending backfill failed: {}", e.getMessage());
+        }
+        if (total > 0) log.info("Trending score filled for {} recipes without a score", total);
+    }
+
+    /** 카운터가 바뀐 레시피만 재계산 */
+    @Scheduled(fixedDelayString = "${app.trending.dirty-interval-ms:60000}", initialDelayString = "${app.trending.dirty-interval-ms:60000}")
+    public void recomputeDirty() {
+        int total = 0;
+        try {
+            while (true) {
+                List<Long> ids = jdbc.queryForList(
+                        "SELECT id FROM recipe WHERE trending_dirty = TRUE ORDER BY id LIMIT ?", Long.class, BATCH);
+                if (ids.isEmpty()) break;
+
+                // 읽기 전에 플래그를 먼저 내린다: 계산 도중 들어온 변경은 다시 dirty 로 표시되어 다음 회차에 반영
+                String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+                jdbc.update("UPDATE recipe SET trending_dirty = FALSE WHERE id IN (" + in + ")", ids.toArray());
+                total += recompute("WHERE id IN (" + in + ")", ids.toArray());
+                if (ids.size() < BATCH) break;
+            }
+        } catch (Exception e) {
+            log.warn("Trending dirty recompute failed: {}", e.getMessage());
+        }
+        if (total > 0) log.debug("Trending score recomputed for {} dirty recipes", total);
+    }
+
+    /** 전체 재계산 (경과일 감쇠 반영) */
+    @Scheduled(cron = "${app.trending.full-cron:0 10 4 * * *}")
+    public void recomputeAll() {
+        long started = System.currentTimeMillis();
+        int total = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Long> ids = jdbc.queryForList(
+                        "SELECT id FROM recipe WHERE id > ? ORDER BY id LIMIT ?", Long.class, lastId, BATCH);
+                if (ids.isEmpty()) break;
+                total += recompute("WHERE id >= ? AND id <= ?", ids.get(0), ids.get(ids.size() - 1));
+                lastId = ids.get(ids.size() - 1);
+            }
+            jdbc.update("UPDATE recipe SET trending_dirty = FALSE WHERE trending_dirty IS NULL");
+        } catch (Exception e) {
+            log.warn("Trending full recompute failed: {}", e.getMessage());
+            return;
+        }
+        log.info("Trending score recomputed for {} recipes ({} ms)", total, System.currentTimeMillis() - started);
+    }
+
+    private int recompute(String where, Object... args) {
+        List<Map<String, Object>> rows = jdbc.queryForList(
+                "SELECT id, view_count, favorite_count, average_rating, rating_count, create_date FROM recipe " + where,
+                args);
+        if (rows.isEmpty()) return 0;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> params = new ArrayList<>(rows.size());
+        for (Map<String, Object> r : rows) {
+            Object created = r.get("create_date");
+            double s = score(
+                    asLong(r.get("view_count")),
+                    asLong(r.get("favorite_count")),
+                    r.get("average_rating") == null ? 0.0 : ((Number) r.get("average_rating")).doubleValue(),
+                    asLong(r.get("rating_count")),
+                    (created instanceof Timestamp ts) ? ts.toLocalDateTime()
+                            : (created instanceof LocalDateTime ldt) ? ldt : null,
+                    now);
+            params.add(new Object[]{s, ((Number) r.get("id")).longValue()});
+        }
+        jdbc.batchUpdate("UPDATE recipe SET trending_score = ? WHERE id = ?", params);
+        return params.size();
+    }
+
+    private static long asLong(Object v) {
+        return (v == null) ? 0L : ((Number) v).longValue();
+    }
+}
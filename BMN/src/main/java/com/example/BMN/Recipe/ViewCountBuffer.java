@@ -0,0 +1,75 @@
+package com.example.BMN.Recipe;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회수 write-behind 버퍼
+ *
+ * - 조회 요청은 메모리의 recipeId → 누적 증가분에 더하기만 한다. (DB 접근 없음)
+ * - 몇 초마다 쌓인 증가분을 JDBC batch 로 한 번에 반영: view_count = view_count + ?
+ * - 종료 시(@PreDestroy) 남은 증가분을 모두 반영한다.
+ *
+ * 누적은 ConcurrentHashMap.merge, 반영은 키별 remove 로 꺼내므로
+ * 꺼내는 순간과 동시에 들어온 증가분은 새 항목으로 남아 다음 회차에 반영된다. (유실 없음)
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final JdbcTemplate jdbc;
+    private final int maxPendingIds;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public ViewCountBuffer(JdbcTemplate jdbc,
+                           @Value("${app.view.max-pending-ids:100000}") int maxPendingIds) {
+        this.jdbc = jdbc;
+        this.maxPendingIds = maxPendingIds;
+    }
+
+    /** 조회수 +1 (메모리) */
+    public void increment(Long recipeId) {
+        if (recipeId == null) return;
+        // 서로 다른 ID 가 비정상적으로 많이 쌓이면(존재하지 않는 ID 난사 등) 새 ID 는 버린다.
+        if (pending.size() >= maxPendingIds && !pending.containsKey(recipeId)) return;
+        pending.merge(recipeId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Long id : pending.keySet()) {
+            Long delta = pending.remove(id);
+            if (delta != null && delta > 0) batch.add(new Object[]{delta, id});
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbc.batchUpdate(
+                    "UPDATE recipe SET view_count = view_count + ?, trending_dirty = TRUE WHERE id = ?", batch);
+        } catch (Exception e) {
+            // 실패한 증가분은 버퍼에 되돌려 다음 회차에 재시도
+            for (Object[] row : batch) pending.merge((Long) row[1], (Long) row[0], Long::sum);
+            log.warn("View count flush failed ({} ids), will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("View count flush on shutdown left {} ids unflushed", pending.size());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.BMN;
 
 import com.example.BMN.User.JwtAuthenticationFilter;
+import com.example.BMN.User.JwtPrincipalCache;
 import com.example.BMN.User.JwtUtil;
 import com.example.BMN.User.CustomOAuth2UserService;
 import com.example.BMN.User.OAuth2AuthenticationSuccessHandler;
@@ -27,15 +28,23 @@ public class  SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService, JwtPrincipalCache jwtPrincipalCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.jwtPrincipalCache = jwtPrincipalCache;
     }
     @Bean
     SecurityFilterChain filterChain(HttpSecurity http, OAuth2AuthenticationSuccessHandler oauth2SuccessHandler) throws Exception {
         http
                 .authorizeHttpRequests((authorizeHttpRequests) -> authorizeHttpRequests
+                        // 운영 지표 (연결 수, 캐시 크기 등) 는 관리자만
+                        .requestMatchers(
+                                new AntPathRequestMatcher("/chat/stream/stats"),
+                                new AntPathRequestMatcher("/user/follow-cache/stats"),
+                                new AntPathRequestMatcher("/user/auth-cache/stats"),
+                                new AntPathRequestMatcher("/api/price/stats")).hasRole("ADMIN")
                         .requestMatchers(new AntPathRequestMatcher("/**")).permitAll())
                 .csrf(csrf -> csrf.disable())
                 .headers((headers) -> headers
@@ -71,7 +80,7 @@ public class  SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        return new JwtAuthenticationFilter(jwtUtil, userDetailsService, jwtPrincipalCache);
     }
 
     @Bean
@@ -0,0 +1,96 @@
+package com.example.BMN.User;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * site_user.following_count / follower_count 를 user_follow 테이블 기준으로 다시 맞추는 배치
+ *
+ * 평소에는 UserService 가 팔로우/언팔로우/승인/탈퇴 때 증감만 반영하므로,
+ * 초기화 전(null) 행이나 수동 DB 작업으로 어긋난 값을 기동 시 및 주기적으로 보정한다.
+ *
+ * 사용자 행을 먼저 읽고 집계를 읽은 뒤, 읽었던 값이 그대로일 때만 갱신한다.
+ * (그 사이 팔로우로 증감이 반영됐다면 다음 회차에 다시 본다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowCountReconciliationJob implements ApplicationRunner {
+
+    private static final int BATCH = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${app.follow.reconcile-cron:0 50 4 * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        int fixed = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Map<String, Object>> users = jdbc.queryForList(
+                        "SELECT id, following_count, follower_count FROM site_user WHERE id > ? ORDER BY id LIMIT ?",
+                        lastId, BATCH);
+                if (users.isEmpty()) break;
+
+                long fromId = ((Number) users.get(0).get("id")).longValue();
+                long toId = ((Number) users.get(users.size() - 1).get("id")).longValue();
+
+                Map<Long, Integer> following = new HashMap<>();
+                jdbc.query(
+                        "SELECT follower_id, COUNT(*) AS c FROM user_follow " +
+                        "WHERE follower_id BETWEEN ? AND ? GROUP BY follower_id",
+                        rs -> {
+                            following.put(rs.getLong("follower_id"), rs.getInt("c"));
+                        },
+                        fromId, toId);
+                Map<Long, Integer> followers = new HashMap<>();
+                jdbc.query(
+                        "SELECT follow_id, COUNT(*) AS c FROM user_follow " +
+                        "WHERE follow_id BETWEEN ? AND ? GROUP BY follow_id",
+                        rs -> {
+                            followers.put(rs.getLong("follow_id"), rs.getInt("c"));
+                        },
+                        fromId, toId);
+
+                for (Map<String, Object> u : users) {
+                    long id = ((Number) u.get("id")).longValue();
+                    Number curFollowing = (Number) u.get("following_count");
+                    Number curFollowers = (Number) u.get("follower_count");
+                    int actualFollowing = following.getOrDefault(id, 0);
+                    int actualFollowers = followers.getOrDefault(id, 0);
+
+                    if (curFollowing != null && curFollowing.intValue() == actualFollowing
+                            && curFollowers != null && curFollowers.intValue() == actualFollowers) continue;
+
+                    int updated = jdbc.update(
+                            "UPDATE site_user SET following_count = ?, follower_count = ? " +
+                            "WHERE id = ? AND COALESCE(following_count, -1) = ? AND COALESCE(follower_count, -1) = ?",
+                            actualFollowing, actualFollowers, id,
+                            curFollowing == null ? -1 : curFollowing.intValue(),
+                            curFollowers == null ? -1 : curFollowers.intValue());
+                    fixed += updated;
+                }
+                lastId = toId;
+            }
+        } catch (Exception e) {
+            log.warn("Follow count reconciliation failed: {}", e.getMessage());
+            return;
+        }
+        log.info("Follow count reconciliation finished: {} users corrected ({} ms)", fixed, System.currentTimeMillis() - started);
+    }
+}
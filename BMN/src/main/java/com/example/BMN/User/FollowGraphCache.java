@@ -0,0 +1,182 @@
+package com.example.BMN.User;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 팔로우 관계 인메모리 캐시 (user_follow 조인 쿼리 대신)
+ *
+ * - 사용자별 팔로잉 id / 팔로워 id 를 정렬된 long[] 로 보관 → 포함 여부는 이진 탐색, 개수는 배열 길이
+ * - 방향별로 크기 제한 LRU (app.follow-cache.max-users)
+ * - 팔로우/언팔로우/승인 시 UserService 가 invalidate 를 호출한다. 즉시 한 번, 커밋 후 한 번 더 지운다.
+ *   로딩 중에 무효화가 일어나면(세대 번호가 바뀌면) 읽은 값을 캐시에 넣지 않는다. (커밋 전 값이 남지 않도록)
+ */
+@Component
+public class FollowGraphCache {
+
+    private final UserRepository userRepository;
+    private final Lru following;
+    private final Lru followers;
+
+    // 무효화 세대 번호 (로딩 도중 무효화가 있었는지 판단)
+    private final AtomicLong generation = new AtomicLong();
+
+    // 지표
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public FollowGraphCache(UserRepository userRepository,
+                            @Value("${app.follow-cache.max-users:10000}") int maxUsers) {
+        this.userRepository = userRepository;
+        this.following = new Lru(Math.max(16, maxUsers));
+        this.followers = new Lru(Math.max(16, maxUsers));
+    }
+
+    /* ---------------- 조회 ---------------- */
+
+    /** a 가 b 를 팔로우하는가 (이미 캐시된 방향이 있으면 그쪽을 사용) */
+    public boolean follows(Long a, Long b) {
+        if (a == null || b == null) return false;
+        long[] out = following.get(a);
+        if (out != null) {
+            hits.incrementAndGet();
+            return contains(out, b);
+        }
+        long[] in = followers.get(b);
+        if (in != null) {
+            hits.incrementAndGet();
+            return contains(in, a);
+        }
+        return contains(followingOf(a), b);
+    }
+
+    /** 서로 팔로우하는가 */
+    public boolean mutual(Long a, Long b) {
+        return follows(a, b) && follows(b, a);
+    }
+
+    /** 한쪽이라도 팔로우하는가 (채팅 내역 열람 조건 등) */
+    public boolean eitherFollows(Long a, Long b) {
+        return follows(a, b) || follows(b, a);
+    }
+
+    public int followingCount(Long userId) {
+        return followingOf(userId).length;
+    }
+
+    public int followerCount(Long userId) {
+        return followersOf(userId).length;
+    }
+
+    /** 팔로잉 id (정렬됨, 수정 금지) */
+    public long[] followingOf(Long userId) {
+        return load(following, userId, userRepository::findFollowingIds);
+    }
+
+    /** 팔로워 id (정렬됨, 수정 금지) */
+    public long[] followersOf(Long userId) {
+        return load(followers, userId, userRepository::findFollowerIds);
+    }
+
+    /* ---------------- 무효화 ---------------- */
+
+    /** a → b 관계가 바뀌었을 때 (트랜잭션 안이면 커밋 후에도 한 번 더) */
+    public void invalidate(Long a, Long b) {
+        evict(a, b);
+        afterCompletion(() -> evict(a, b));
+    }
+
+    /** 전체 비우기 (회원 탈퇴 등 한 사용자의 관계가 한꺼번에 바뀔 때) */
+    public void clear() {
+        evictAll();
+        afterCompletion(this::evictAll);
+    }
+
+    private void afterCompletion(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                task.run();
+            }
+        });
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        following.clear();
+        followers.clear();
+    }
+
+    private void evict(Long a, Long b) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        if (a != null) following.remove(a);
+        if (b != null) followers.remove(b);
+    }
+
+    /* ---------------- 지표 ---------------- */
+
+    public record Stats(int followingEntries, int followerEntries, long hits, long misses,
+                        double hitRatio, long invalidations) {}
+
+    public Stats stats() {
+        long h = hits.get(), m = misses.get();
+        double ratio = (h + m) == 0 ? 0.0 : (double) h / (h + m);
+        return new Stats(following.size(), followers.size(), h, m, ratio, invalidations.get());
+    }
+
+    /* ---------------- 내부 ---------------- */
+
+    private long[] load(Lru cache, Long userId, Function<Long, List<Long>> loader) {
+        if (userId == null) return new long[0];
+        long[] cached = cache.get(userId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        long gen = generation.get();
+        List<Long> ids = loader.apply(userId);
+        long[] arr = new long[ids.size()];
+        for (int i = 0; i < arr.length; i++) arr[i] = ids.get(i);
+        Arrays.sort(arr);
+        if (generation.get() == gen) cache.put(userId, arr);
+        return arr;
+    }
+
+    private static boolean contains(long[] sorted, long id) {
+        return Arrays.binarySearch(sorted, id) >= 0;
+    }
+
+    /** 접근 순서 LinkedHashMap 기반 LRU (동기화) */
+    private static final class Lru {
+        private final Map<Long, long[]> map;
+
+        Lru(int maxEntries) {
+            this.map = new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized long[] get(Long key) { return map.get(key); }
+        synchronized void put(Long key, long[] value) { map.put(key, value); }
+        synchronized void remove(Long key) { map.remove(key); }
+        synchronized void clear() { map.clear(); }
+        synchronized int size() { return map.size(); }
+    }
+}
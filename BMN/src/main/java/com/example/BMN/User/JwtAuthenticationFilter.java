@@ -13,19 +13,28 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import java.util.Collections;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final JwtPrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   JwtPrincipalCache principalCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -57,81 +66,64 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             chain.doFilter(request, response);
             return;
         }
-        String userName = null;
 
+        // ⚡ 최근에 검증한 토큰이면 파싱/DB 조회 없이 바로 인증
+        UserDetails cached = principalCache.get(token);
+        if (cached != null) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(cached, null, cached.getAuthorities()));
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // 서명/만료 검증 + 클레임 추출을 한 번에
+        Claims claims;
         try {
-            userName = jwtUtil.extractUsername(token);
-            System.out.println("🔹 JWT 사용자 이름 추출 성공: " + userName);
+            claims = jwtUtil.parseClaims(token);
         } catch (ExpiredJwtException eje) {
-            System.out.println("⏰ JWT 만료: " + eje.getMessage());
-            // Respond with JSON { status:401, code: "TOKEN_EXPIRED", message: "토큰이 만료되었습니다." }
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json;charset=UTF-8");
-            ObjectMapper mapper = new ObjectMapper();
-            String body = mapper.writeValueAsString(java.util.Map.of(
-                    "status", 401,
-                    "code", "TOKEN_EXPIRED",
-                    "message", "토큰이 만료되었습니다."
-            ));
-            response.getWriter().write(body);
+            log.debug("JWT 만료: {}", eje.getMessage());
+            writeUnauthorized(response, "TOKEN_EXPIRED", "토큰이 만료되었습니다.");
             return;
         } catch (Exception e) {
-            System.out.println("❌ JWT 검증 실패: " + e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json;charset=UTF-8");
-            ObjectMapper mapper = new ObjectMapper();
-            String body = mapper.writeValueAsString(java.util.Map.of(
-                    "status", 401,
-                    "code", "INVALID_TOKEN",
-                    "message", "유효하지 않은 토큰입니다."
-            ));
-            response.getWriter().write(body);
+            log.debug("JWT 검증 실패: {}", e.getMessage());
+            writeUnauthorized(response, "INVALID_TOKEN", "유효하지 않은 토큰입니다.");
             return;
         }
 
+        String userName = claims.getSubject();
         if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(userName);
-
-                if (jwtUtil.validateToken(token)) {
-                    Authentication auth = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities()
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                    System.out.println("✅ 인증 성공! SecurityContext에 저장됨");
-                } else {
-                    System.out.println("❌ 유효하지 않은 토큰");
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.setContentType("application/json;charset=UTF-8");
-                    ObjectMapper mapper = new ObjectMapper();
-                    String body = mapper.writeValueAsString(java.util.Map.of(
-                            "status", 401,
-                            "code", "INVALID_TOKEN",
-                            "message", "유효하지 않은 토큰입니다."
-                    ));
-                    response.getWriter().write(body);
-                    return;
-                }
+                Authentication auth = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()
+                );
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                principalCache.put(token, userDetails, claims.getExpiration());
             } catch (Exception e) {
                 // If user is not present in local DB (OAuth-first flow), still allow the request
                 // to proceed by creating a lightweight Authentication based on the JWT subject.
-                System.out.println("❌ 사용자 인증 실패: " + e.getMessage() + " — 시도: JWT 기반 임시 인증 생성");
-                try {
-                    if (jwtUtil.validateToken(token)) {
-                        Authentication auth = new UsernamePasswordAuthenticationToken(
-                                userName, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_PREAUTH"))
-                        );
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                        System.out.println("⚠️ 임시 JWT 인증이 SecurityContext에 설정되었습니다 (사용자 로컬 레코드 없음)");
-                    } else {
-                        System.out.println("❌ 유효하지 않은 토큰 (임시 인증 생성 실패)");
-                    }
-                } catch (Exception ex) {
-                    System.out.println("❌ 임시 인증 생성 중 예외: " + ex.getMessage());
-                }
+                // (캐시하지 않음: 프로필 완성 후 바로 실제 사용자로 인증되도록)
+                log.debug("사용자 인증 실패: {} — JWT 기반 임시 인증 생성", e.getMessage());
+                Authentication auth = new UsernamePasswordAuthenticationToken(
+                        userName, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_PREAUTH"))
+                );
+                SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static void writeUnauthorized(HttpServletResponse response, String code, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json;charset=UTF-8");
+        String body = MAPPER.writeValueAsString(java.util.Map.of(
+                "status", 401,
+                "code", code,
+                "message", message
+        ));
+        response.getWriter().write(body);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.BMN.User;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검증이 끝난 JWT → UserDetails 캐시 (JwtAuthenticationFilter 전용)
+ *
+ * - 키는 토큰 원문이 아니라 SHA-256 해시 (메모리에 토큰을 남기지 않음)
+ * - 항목 수 제한 LRU (app.auth.principal-cache.max-entries)
+ * - 항목 수명 = min(app.auth.principal-cache.ttl-ms, 토큰 만료 시각) → 만료된 토큰은 캐시로도 통과하지 못한다.
+ * - 적중 시 서명 검증/DB 조회(loadUserByUsername) 모두 생략. 회원 탈퇴/아이디 변경 시 evictUser 로 비운다.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final long ttlMs;
+    private final Map<String, Entry> map;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record Entry(UserDetails userDetails, long expiresAt) {}
+
+    public JwtPrincipalCache(@Value("${app.auth.principal-cache.max-entries:10000}") int maxEntries,
+                             @Value("${app.auth.principal-cache.ttl-ms:60000}") long ttlMs) {
+        this.ttlMs = ttlMs;
+        int max = Math.max(16, maxEntries);
+        this.map = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    /** 캐시된 사용자 (없거나 수명이 지났으면 null) */
+    public UserDetails get(String token) {
+        if (ttlMs <= 0) return null;
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (map) {
+            Entry e = map.get(key);
+            if (e != null && e.expiresAt() > now) {
+                hits.incrementAndGet();
+                return e.userDetails();
+            }
+            if (e != null) map.remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /** 검증된 토큰의 사용자 저장 (수명은 토큰 만료 시각을 넘지 않음) */
+    public void put(String token, UserDetails userDetails, Date tokenExpiration) {
+        if (ttlMs <= 0 || userDetails == null) return;
+        long expiresAt = System.currentTimeMillis() + ttlMs;
+        if (tokenExpiration != null) expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        Entry e = new Entry(userDetails, expiresAt);
+        String key = hash(token);
+        synchronized (map) {
+            map.put(key, e);
+        }
+    }
+
+    /**
+     * 해당 사용자의 항목 모두 제거 (회원 탈퇴, 아이디 변경 등)
+     * 트랜잭션 안이면 커밋 후에 한 번 더 지운다. (커밋 전에 다른 요청이 옛 정보를 다시 캐시할 수 있으므로)
+     */
+    public void evictUser(String username) {
+        if (username == null) return;
+        removeUser(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeUser(username);
+                }
+            });
+        }
+    }
+
+    private void removeUser(String username) {
+        synchronized (map) {
+            map.values().removeIf(e -> username.equals(e.userDetails().getUsername()));
+        }
+    }
+
+    public record Stats(int entries, long hits, long misses, double hitRatio) {}
+
+    public Stats stats() {
+        int size;
+        synchronized (map) {
+            size = map.size();
+        }
+        long h = hits.get(), m = misses.get();
+        double ratio = (h + m) == 0 ? 0.0 : (double) h / (h + m);
+        return new Stats(size, h, m, ratio);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
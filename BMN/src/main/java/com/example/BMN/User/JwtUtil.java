@@ -1,8 +1,10 @@
 package com.example.BMN.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
 import io.jsonwebtoken.security.Keys;
 import java.security.Key;
@@ -19,10 +21,18 @@ public class JwtUtil {
     @Value("${jwt.expiration:7200000}") // 기본 2시간 (ms)
     private long expirationMs;
 
-    private Key getSigningKey() {
+    // 키와 파서는 기동 시 한 번만 만든다. (JwtParser 는 불변/스레드 안전)
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
         // HS256은 최소 256bit 키 필요
         byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     // ✅ 토큰 생성
@@ -31,30 +41,30 @@ public class JwtUtil {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // ✅ 토큰에서 사용자명 추출
+    /**
+     * ✅ 서명 + 만료 검증과 클레임 추출을 한 번의 파싱으로
+     * 만료 시 ExpiredJwtException, 서명/형식 오류 시 JwtException 을 던진다.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // ✅ 토큰에서 사용자명 추출 (검증 포함)
     public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     // ✅ 토큰 유효성 검증
     public boolean validateToken(String token) {
-        return getClaims(token).getExpiration().after(new Date());
+        return parseClaims(token).getExpiration().after(new Date());
     }
 
     // expose expiration so callers can align cookie Max-Age with token lifetime
     public long getExpirationMs() {
         return expirationMs;
     }
-
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
 }
@@ -43,9 +43,9 @@ public class PublicUserDTO {
         dto.setPrivateAccount(u.getPrivateAccount() != null ? u.getPrivateAccount() : false);
         dto.setProfileComplete(u.getProfileComplete() != null ? u.getProfileComplete() : true);
 
-        // 기본 팔로우 정보는 null로 초기화 (컨트롤러/서비스에서 설정)
-        dto.setFollowingCount(null);
-        dto.setFollowerCount(null);
+        // 팔로잉/팔로워 수는 site_user 카운터 컬럼에서 바로 (초기화 전이면 null → 컨트롤러에서 채움)
+        dto.setFollowingCount(toLong(u.getFollowingCount()));
+        dto.setFollowerCount(toLong(u.getFollowerCount()));
         dto.setFollowedByMe(null);
 
         return dto;
@@ -70,8 +70,8 @@ public class PublicUserDTO {
             dto.setEmail(null);
         }
 
-        dto.setFollowingCount(null);
-        dto.setFollowerCount(null);
+        dto.setFollowingCount(toLong(u.getFollowingCount()));
+        dto.setFollowerCount(toLong(u.getFollowerCount()));
         dto.setFollowedByMe(null);
 
         return dto;
@@ -90,10 +90,14 @@ public class PublicUserDTO {
         dto.setPrivateAccount(u.getPrivateAccount() != null ? u.getPrivateAccount() : false);
         dto.setProfileComplete(u.getProfileComplete() != null ? u.getProfileComplete() : true);
 
-        dto.setFollowingCount(null);
-        dto.setFollowerCount(null);
+        dto.setFollowingCount(toLong(u.getFollowingCount()));
+        dto.setFollowerCount(toLong(u.getFollowerCount()));
         dto.setFollowedByMe(null);
 
         return dto;
     }
-}
\ No newline at end of file
+
+    private static Long toLong(Integer v) {
+        return v != null ? v.longValue() : null;
+    }
+}
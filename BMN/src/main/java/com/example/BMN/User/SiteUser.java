@@ -59,6 +59,27 @@ public class SiteUser {
     @Column
     private String sex;
 
+    /**
+     * 읽지 않은 알림 수 (NotificationService 가 원자적 UPDATE 로만 증감)
+     * 엔티티 저장으로 덮어쓰지 않도록 insert/update 에서 제외. null 이면 처음 조회 시 COUNT 로 채운다.
+     */
+    @JsonIgnore
+    @Column(name = "unread_notification_count", insertable = false, updatable = false)
+    private Integer unreadNotificationCount;
+
+    /**
+     * 팔로잉/팔로워 수 (UserService 가 팔로우/언팔로우/승인/탈퇴 때 원자적 UPDATE 로만 증감)
+     * unreadNotificationCount 와 같이 insert/update 에서 제외. null 이면 처음 조회 시 COUNT 로 채우고,
+     * FollowCountReconciliationJob 이 user_follow 기준으로 주기적으로 다시 맞춘다.
+     */
+    @JsonIgnore
+    @Column(name = "following_count", insertable = false, updatable = false)
+    private Integer followingCount;
+
+    @JsonIgnore
+    @Column(name = "follower_count", insertable = false, updatable = false)
+    private Integer followerCount;
+
     @ManyToMany
     @JoinTable(
             name = "user_follow",
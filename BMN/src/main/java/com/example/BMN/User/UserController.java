@@ -25,9 +25,19 @@ public class UserController {
      */
     @GetMapping("/profile/id/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
-        SiteUser user = userRepository.findByIdWithFollowAndFollower(id)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
-        return ResponseEntity.ok(new UserDTO(user));
+        return ResponseEntity.ok(userService.getUserDTO(id));
+    }
+
+    /** 팔로우 그래프 캐시 지표 (적중률 등, 캐시 크기 조정용) */
+    @GetMapping("/follow-cache/stats")
+    public FollowGraphCache.Stats followCacheStats() {
+        return followGraphCache.stats();
+    }
+
+    /** JWT 인증 캐시 지표 (토큰 → 사용자 캐시 적중률) */
+    @GetMapping("/auth-cache/stats")
+    public JwtPrincipalCache.Stats authCacheStats() {
+        return jwtPrincipalCache.stats();
     }
 
     // Logger for this controller
@@ -39,6 +49,8 @@ public class UserController {
     private final UserRepository userRepository;
     private final PendingRegistrationRepository pendingRegistrationRepository;
     private final EmailService emailService;
+    private final FollowGraphCache followGraphCache;
+    private final JwtPrincipalCache jwtPrincipalCache;
     @Value("${app.frontend.url:https://www.saltylife.co.kr}")
     private String frontendBaseUrl;
 
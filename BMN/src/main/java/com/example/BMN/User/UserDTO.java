@@ -1,13 +1,12 @@
 package com.example.BMN.User;
 
-import com.example.BMN.Recipe.Recipe;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-
+/**
+ * id 로 조회하는 사용자 요약 (/user/profile/id/{id})
+ * - 팔로우/좋아요/즐겨찾기/작성글은 id 목록 대신 개수만 (컬렉션 fetch join 없이 개수 쿼리로)
+ */
 @Getter
 @Setter
 public class UserDTO {
@@ -18,11 +17,12 @@ public class UserDTO {
     private String password;
     private java.time.LocalDate dateOfBirth;
     private String sex;
-    private List<Long> followerIds;
-    private List<Long> followingIds;
-    private List<Long> likeRecipeIds;
-    private List<Long> favoriteRecipeIds;
-    private List<Long> postRecipeIds;
+    private long followerCount;
+    private long followingCount;
+    private long likeCount;
+    private long favoriteCount;
+    private long postCount;
+    private Boolean followedByMe;   // 로그인 사용자가 이 유저를 팔로우 중인지 (비로그인 null)
 
     public UserDTO(SiteUser siteUser) {
         this.id = siteUser.getId();
@@ -32,24 +32,5 @@ public class UserDTO {
     this.password = siteUser.getPassword();
     this.dateOfBirth = siteUser.getDateOfBirth();
         this.sex = siteUser.getSex();
-        this.followerIds = extractIds(siteUser.getFollower());
-        this.followingIds = extractIds(siteUser.getFollow());
-        this.likeRecipeIds = extractIds(siteUser.getLike());
-        this.favoriteRecipeIds = extractIds(siteUser.getFavorite());
-        this.postRecipeIds = extractIds(siteUser.getPost());
-    }
-
-    private static <T> List<Long> extractIds(Set<T> entities) {
-        return entities.stream()
-                .map(e -> (e instanceof SiteUser) ? ((SiteUser) e).getId() : ((Recipe) e).getId())
-                .collect(Collectors.toList());
     }
-
-    private static List<Long> extractIds(List<Recipe> recipes) {
-        return recipes.stream()
-                .map(Recipe::getId)
-                .collect(Collectors.toList());
-    }
-
-
-}
\ No newline at end of file
+}
@@ -3,9 +3,11 @@ package com.example.BMN.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<SiteUser, Long> {
@@ -21,14 +23,61 @@ public interface UserRepository extends JpaRepository<SiteUser, Long> {
     @Query("select count(u) from SiteUser u join u.favorite f where f.id = :recipeId")
     int countFavoritesByRecipeId(@Param("recipeId") Long recipeId);
 
-    /* ====== 팔로우/팔로워 카운트 ====== */
-    // 내가 팔로우하는 사람 수 (팔로잉)
-    @Query("select count(f) from SiteUser u join u.follow f where u.id = :userId")
-    long countFollowing(@Param("userId") Long userId);
+    /* ====== 팔로우/팔로워 카운터 (site_user.following_count / follower_count) ====== */
+    // null 이면 아직 초기화 전 → UserService 가 처음 조회할 때 채운다.
+    @Query(value = "SELECT following_count FROM site_user WHERE id = :userId", nativeQuery = true)
+    Integer findFollowingCounter(@Param("userId") Long userId);
 
-    // 나를 팔로우하는 사람 수 (팔로워)
-    @Query("select count(f) from SiteUser u join u.follower f where u.id = :userId")
-    long countFollowers(@Param("userId") Long userId);
+    @Query(value = "SELECT follower_count FROM site_user WHERE id = :userId", nativeQuery = true)
+    Integer findFollowerCounter(@Param("userId") Long userId);
+
+    /** 카운터가 아직 없을 때만 채운다. */
+    @Modifying
+    @Query(value = "UPDATE site_user SET following_count = :count " +
+        "WHERE id = :userId AND following_count IS NULL", nativeQuery = true)
+    int initFollowingCounter(@Param("userId") Long userId, @Param("count") int count);
+
+    @Modifying
+    @Query(value = "UPDATE site_user SET follower_count = :count " +
+        "WHERE id = :userId AND follower_count IS NULL", nativeQuery = true)
+    int initFollowerCounter(@Param("userId") Long userId, @Param("count") int count);
+
+    /** 카운터 증감 (0 미만 방지, 초기화 전이면 그대로 두고 첫 조회 때 COUNT 로 채움) */
+    @Modifying
+    @Query(value = """
+        UPDATE site_user
+        SET following_count = CASE WHEN following_count + :delta > 0 THEN following_count + :delta ELSE 0 END
+        WHERE id = :userId AND following_count IS NOT NULL
+        """, nativeQuery = true)
+    int adjustFollowingCounter(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = """
+        UPDATE site_user
+        SET follower_count = CASE WHEN follower_count + :delta > 0 THEN follower_count + :delta ELSE 0 END
+        WHERE id = :userId AND follower_count IS NOT NULL
+        """, nativeQuery = true)
+    int adjustFollowerCounter(@Param("userId") Long userId, @Param("delta") int delta);
+
+    /** 회원 탈퇴 전: 내가 팔로우하던 사람들의 팔로워 수 -1 (user_follow 정리 전에 호출) */
+    @Modifying
+    @Query(value = """
+        UPDATE site_user
+        SET follower_count = CASE WHEN follower_count > 0 THEN follower_count - 1 ELSE 0 END
+        WHERE follower_count IS NOT NULL
+          AND id IN (SELECT uf.follow_id FROM user_follow uf WHERE uf.follower_id = :userId)
+        """, nativeQuery = true)
+    int decrementFollowerCountersFollowedBy(@Param("userId") Long userId);
+
+    /** 회원 탈퇴 전: 나를 팔로우하던 사람들의 팔로잉 수 -1 (user_follow 정리 전에 호출) */
+    @Modifying
+    @Query(value = """
+        UPDATE site_user
+        SET following_count = CASE WHEN following_count > 0 THEN following_count - 1 ELSE 0 END
+        WHERE following_count IS NOT NULL
+          AND id IN (SELECT uf.follower_id FROM user_follow uf WHERE uf.follow_id = :userId)
+        """, nativeQuery = true)
+    int decrementFollowingCountersFollowing(@Param("userId") Long userId);
 
     /* ====== 팔로잉/팔로워 목록 (페이징) ====== */
     // 팔로잉 목록: username 사용자가 팔로우하는 대상들
@@ -51,13 +100,38 @@ public interface UserRepository extends JpaRepository<SiteUser, Long> {
     @Query("select (count(f) > 0) from SiteUser u join u.follow f where u.id = :meId and f.id = :targetId")
     boolean existsFollowing(@Param("meId") Long meId, @Param("targetId") Long targetId);
 
-    /* ====== ID로 사용자 조회 (팔로우/팔로워 포함) ====== */
-        @Query("SELECT u FROM SiteUser u " +
-            "LEFT JOIN FETCH u.follow " +
-            "LEFT JOIN FETCH u.follower " +
-            "LEFT JOIN FETCH u.like " +
-            "LEFT JOIN FETCH u.favorite " +
-            "LEFT JOIN FETCH u.post " +
-            "WHERE u.id = :id")
-        Optional<SiteUser> findByIdWithFollowAndFollower(@Param("id") Long id);
-}
\ No newline at end of file
+    /* ====== 팔로우 id 목록 (FollowGraphCache 로딩용) ====== */
+    @Query("select f.id from SiteUser u join u.follow f where u.id = :userId")
+    List<Long> findFollowingIds(@Param("userId") Long userId);
+
+    @Query("select u.id from SiteUser u join u.follow f where f.id = :userId")
+    List<Long> findFollowerIds(@Param("userId") Long userId);
+
+    /* ====== user_follow 직접 조작 (컬렉션을 로딩하지 않고 id 쌍으로) ====== */
+    /** 팔로우 관계가 없을 때만 추가 (이미 있으면 0 반환, 예외 없음) */
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_follow (follower_id, follow_id)
+        SELECT :followerId, u.id FROM site_user u
+        WHERE u.id = :followeeId
+          AND NOT EXISTS (SELECT 1 FROM user_follow uf WHERE uf.follower_id = :followerId AND uf.follow_id = :followeeId)
+        """, nativeQuery = true)
+    int insertFollowIfAbsent(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    /** 팔로우 관계 삭제 (없으면 0 반환) */
+    @Modifying
+    @Query(value = "DELETE FROM user_follow WHERE follower_id = :followerId AND follow_id = :followeeId", nativeQuery = true)
+    int deleteFollow(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    /** 회원 탈퇴: 해당 사용자가 들어간 팔로우 관계 전부 삭제 (양방향) */
+    @Modifying
+    @Query(value = "DELETE FROM user_follow WHERE follower_id = :userId OR follow_id = :userId", nativeQuery = true)
+    int deleteAllFollowsOf(@Param("userId") Long userId);
+
+    /* ====== 프로필 요약용 개수 ====== */
+    @Query("select count(r) from SiteUser u join u.like r where u.id = :userId")
+    long countLikes(@Param("userId") Long userId);
+
+    @Query("select count(r) from SiteUser u join u.favorite r where u.id = :userId")
+    long countFavorites(@Param("userId") Long userId);
+}
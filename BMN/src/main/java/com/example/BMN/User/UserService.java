@@ -3,6 +3,7 @@ package com.example.BMN.User;
 
 import com.example.BMN.Notification.NotificationService;
 import com.example.BMN.Recipe.Recipe;
+import com.example.BMN.Recipe.RecipeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +15,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -33,6 +33,8 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final FollowRequestRepository followRequestRepository;
     private final NotificationService notificationService;
+    private final FollowGraphCache followGraph;
+    private final RecipeRepository recipeRepository;
 
     public SiteUser getById(Long id) {
         return userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. id=" + id));
@@ -109,8 +111,32 @@ public class UserService {
     }
 
     public UserDTO getUserDTO(String username) {
-        SiteUser siteUser = getUser(username);
-        return new UserDTO(siteUser);
+        return toUserDTO(getUser(username));
+    }
+
+    /** id 로 사용자 요약 조회 (알림 등에서 사용) */
+    @Transactional
+    public UserDTO getUserDTO(Long id) {
+        SiteUser siteUser = userRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
+        return toUserDTO(siteUser);
+    }
+
+    /** 컬렉션을 로딩하지 않고 카운터/개수 쿼리와 팔로우 그래프 캐시로 채운다. */
+    private UserDTO toUserDTO(SiteUser siteUser) {
+        UserDTO dto = new UserDTO(siteUser);
+        dto.setFollowingCount(countFollowing(siteUser.getUserName()));
+        dto.setFollowerCount(countFollowers(siteUser.getUserName()));
+        dto.setLikeCount(userRepository.countLikes(siteUser.getId()));
+        dto.setFavoriteCount(userRepository.countFavorites(siteUser.getId()));
+        dto.setPostCount(recipeRepository.countByAuthorId(siteUser.getId()));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getName() != null && !"anonymousUser".equals(auth.getName())) {
+            dto.setFollowedByMe(userRepository.findByUserName(auth.getName())
+                    .map(u -> followGraph.follows(u.getId(), siteUser.getId()))
+                    .orElse(false));
+        }
+        return dto;
     }
 
     /* ========================= 즐겨찾기 유틸 ========================= */
@@ -138,7 +164,7 @@ public class UserService {
     public enum FollowActionResult { FOLLOWED, REQUESTED }
 
     private boolean follows(SiteUser from, SiteUser to) {
-        return userRepository.existsFollowing(from.getId(), to.getId());
+        return followGraph.follows(from.getId(), to.getId());
     }
 
     /** 임의 사용자 기준 팔로우 여부 */
@@ -158,8 +184,7 @@ public class UserService {
         }
         SiteUser target = getUser(targetUsername);
 
-        Set<SiteUser> following = me.getFollow();
-        if (following.contains(target)) {
+        if (userRepository.existsFollowing(me.getId(), target.getId())) {
             return FollowActionResult.FOLLOWED;
         }
 
@@ -186,8 +211,10 @@ public class UserService {
             return FollowActionResult.REQUESTED;
         }
 
-        following.add(target);
-        userRepository.save(me);
+        // user_follow 에 id 쌍으로 직접 추가 (팔로잉 컬렉션 로딩/diff 없음)
+        if (userRepository.insertFollowIfAbsent(me.getId(), target.getId()) > 0) {
+            adjustFollowCounters(me.getId(), target.getId(), 1);
+        }
         return FollowActionResult.FOLLOWED;
     }
 
@@ -200,10 +227,8 @@ public class UserService {
         }
         SiteUser target = getUser(targetUsername);
 
-        Set<SiteUser> following = me.getFollow();
-        if (following.contains(target)) {
-            following.remove(target);
-            userRepository.save(me);
+        if (userRepository.deleteFollow(me.getId(), target.getId()) > 0) {
+            adjustFollowCounters(me.getId(), target.getId(), -1);
         }
 
         // 대기 중이던 요청도 함께 정리
@@ -247,8 +272,9 @@ public class UserService {
         followRequestRepository.save(fr);
 
         // 팔로우 관계 생성
-        requester.getFollow().add(me);
-        userRepository.save(requester);
+        if (userRepository.insertFollowIfAbsent(requester.getId(), me.getId()) > 0) {
+            adjustFollowCounters(requester.getId(), me.getId(), 1);
+        }
 
         // 팔로우 승인 알림 생성 (followRequestId 포함)
         notificationService.notify(requester, "FOLLOW_APPROVED", me.getNickname() + "님이 팔로우 요청을 승인했습니다.", me.getId());
@@ -268,16 +294,45 @@ public class UserService {
 
     /* ========================= 팔로워/팔로잉 카운트 ========================= */
 
-    @Transactional(readOnly = true)
+    /** 팔로잉 수 (site_user.following_count, 초기화 전이면 한 번 세어서 채움) */
+    @Transactional
     public long countFollowing(String username) {
         SiteUser user = getUser(username);
-        return userRepository.countFollowing(user.getId());
+        Integer counter = userRepository.findFollowingCounter(user.getId());
+        if (counter != null) return counter;
+        int counted = followGraph.followingCount(user.getId());
+        userRepository.initFollowingCounter(user.getId(), counted);
+        return counted;
     }
 
-    @Transactional(readOnly = true)
+    /** 팔로워 수 (site_user.follower_count, 초기화 전이면 한 번 세어서 채움) */
+    @Transactional
     public long countFollowers(String username) {
         SiteUser user = getUser(username);
-        return userRepository.countFollowers(user.getId());
+        Integer counter = userRepository.findFollowerCounter(user.getId());
+        if (counter != null) return counter;
+        int counted = followGraph.followerCount(user.getId());
+        userRepository.initFollowerCounter(user.getId(), counted);
+        return counted;
+    }
+
+    /** follower → followee 관계가 생기거나(+1) 없어졌을 때(-1): 양쪽 카운터 증감 + 팔로우 그래프 캐시 무효화 */
+    private void adjustFollowCounters(Long followerId, Long followeeId, int delta) {
+        userRepository.adjustFollowingCounter(followerId, delta);
+        userRepository.adjustFollowerCounter(followeeId, delta);
+        followGraph.invalidate(followerId, followeeId);
+    }
+
+    /**
+     * 회원 탈퇴 전 팔로우 관계 정리: 상대방들의 카운터를 먼저 -1 한 뒤 user_follow 행을 지운다.
+     * (user_follow 를 지운 뒤에는 누구의 카운터를 줄여야 하는지 알 수 없으므로 순서 중요)
+     */
+    @Transactional
+    public void detachFollowGraph(SiteUser user) {
+        userRepository.decrementFollowerCountersFollowedBy(user.getId());
+        userRepository.decrementFollowingCountersFollowing(user.getId());
+        userRepository.deleteAllFollowsOf(user.getId());
+        followGraph.clear();
     }
 
     /* ========================= 팔로워/팔로잉 목록 (페이징) ========================= */
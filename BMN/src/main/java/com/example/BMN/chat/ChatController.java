@@ -15,8 +15,11 @@ public class ChatController {
 
     private final ChatService chatService;
 
-    public ChatController(ChatService chatService) {
+    private final SsePushHub pushHub;
+
+    public ChatController(ChatService chatService, SsePushHub pushHub) {
         this.chatService = chatService;
+        this.pushHub = pushHub;
     }
 
     public record SendRequest(String content) {}
@@ -30,13 +33,20 @@ public class ChatController {
     }
 
     @GetMapping("/conversations/{partner}/messages")
-    public Page<ChatService.MessageDto> messages(
+    public ResponseEntity<?> messages(
             @PathVariable String partner,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean count
     ) {
+        // after 가 있으면(빈 값 = 최신부터) 커서 페이지: 위로 스크롤할수록 과거 메시지, OFFSET/COUNT 없음
+        if (after != null) {
+            return ResponseEntity.ok(chatService.listMessagesBefore(partner, after, size, count));
+        }
         Pageable pageable = PageRequest.of(page, size);
-        return chatService.listMessages(partner, pageable);
+        Page<ChatService.MessageDto> result = chatService.listMessages(partner, pageable);
+        return ResponseEntity.ok(result);
     }
 
     @PostMapping("/conversations/{partner}/messages")
@@ -58,4 +68,10 @@ public class ChatController {
     public SseEmitter stream(@RequestParam(name = "token", required = false) String token) {
         return chatService.subscribe(token);
     }
+
+    /** SSE 허브 지표: 연결 수, 큐 적체, 전송/버림/정리 건수 */
+    @GetMapping("/stream/stats")
+    public SsePushHub.Stats streamStats() {
+        return pushHub.stats();
+    }
 }
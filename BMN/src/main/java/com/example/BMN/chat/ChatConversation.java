@@ -0,0 +1,51 @@
+package com.example.BMN.chat;
+
+import com.example.BMN.User.SiteUser;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 대화방 요약 (받은편지함 한 줄)
+ *
+ * - 대화 한 쌍마다 양쪽 사용자 기준으로 한 행씩 (user → partner)
+ * - sendMessage / markAsRead 트랜잭션 안에서 ChatConversationRepository 의 원자적 쿼리로만 갱신
+ * - 기존 메시지는 ChatConversationBackfillRunner 가 한 번 채운다.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "chat_conversation",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_chat_conv_user_partner", columnNames = {"user_id", "partner_id"})
+        },
+        indexes = {
+                // 받은편지함: user_id 범위에서 last_at DESC 로 바로 읽기
+                @Index(name = "idx_chat_conv_user_last", columnList = "user_id,last_at,id")
+        })
+public class ChatConversation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private SiteUser user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partner_id", nullable = false)
+    private SiteUser partner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_message_id")
+    private ChatMessage lastMessage;
+
+    @Column(name = "last_at")
+    private LocalDateTime lastAt;
+
+    @Column(name = "unread_count", nullable = false)
+    private Integer unreadCount = 0;
+}
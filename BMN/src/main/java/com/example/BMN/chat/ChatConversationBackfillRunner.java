@@ -0,0 +1,108 @@
+package com.example.BMN.chat;
+
+import com.example.BMN.Database.MigrationMarkers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup backfill of {@code chat_conversation} from existing {@code chat_message} rows.
+ *
+ * Runs until it has completed once, then records that in {@link MigrationMarkers} and later startups
+ * skip it with one lookup. It is not skipped merely because chat_conversation already has rows: messages
+ * sent before it runs (the server already accepts requests) would otherwise hide every older conversation.
+ * After that, ChatService keeps the table up to date on every send/read.
+ * Disable with `app.migrate.chat-conversations=false`.
+ *
+ * Each message yields one row per side: the sender's row (no unread) and the receiver's row
+ * (unread while read_at IS NULL). Pairs that already exist are left untouched.
+ *
+ * Work is split into owner user-id ranges (`app.migrate.chat-conversations-batch`, default 1000 ids).
+ * A range that collides with a concurrent ChatService insert is retried once (NOT EXISTS then skips the
+ * pair); a range that still fails leaves the backfill pending for the next startup without aborting the others.
+ */
+@Component
+public class ChatConversationBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatConversationBackfillRunner.class);
+
+    private static final String MARKER = "chat-conversations";
+
+    private static final String INSERT_RANGE = """
+        INSERT INTO chat_conversation (user_id, partner_id, last_message_id, last_at, unread_count)
+        SELECT t.user_id, t.partner_id, MAX(t.id), MAX(t.created_at), SUM(t.unread)
+        FROM (
+            SELECT sender_id AS user_id, receiver_id AS partner_id, id, created_at, 0 AS unread
+            FROM chat_message WHERE sender_id BETWEEN ? AND ?
+            UNION ALL
+            SELECT receiver_id, sender_id, id, created_at, CASE WHEN read_at IS NULL THEN 1 ELSE 0 END
+            FROM chat_message WHERE receiver_id BETWEEN ? AND ? AND receiver_id <> sender_id
+        ) t
+        WHERE NOT EXISTS (SELECT 1 FROM chat_conversation c
+                          WHERE c.user_id = t.user_id AND c.partner_id = t.partner_id)
+        GROUP BY t.user_id, t.partner_id
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final Environment env;
+    private final MigrationMarkers markers;
+
+    public ChatConversationBackfillRunner(JdbcTemplate jdbc, Environment env, MigrationMarkers markers) {
+        this.jdbc = jdbc;
+        this.env = env;
+        this.markers = markers;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean enabled = Boolean.parseBoolean(env.getProperty("app.migrate.chat-conversations", "true"));
+        if (!enabled) {
+            log.debug("ChatConversationBackfillRunner disabled (app.migrate.chat-conversations=false)");
+            return;
+        }
+        try {
+            if (markers.isDone(MARKER)) {
+                log.debug("ChatConversationBackfillRunner already completed");
+                return;
+            }
+            long batch = Math.max(1L, Long.parseLong(env.getProperty("app.migrate.chat-conversations-batch", "1000")));
+            Long maxSender = jdbc.queryForObject("SELECT MAX(sender_id) FROM chat_message", Long.class);
+            Long maxReceiver = jdbc.queryForObject("SELECT MAX(receiver_id) FROM chat_message", Long.class);
+            long maxId = Math.max(maxSender == null ? 0L : maxSender, maxReceiver == null ? 0L : maxReceiver);
+
+            long started = System.currentTimeMillis();
+            int inserted = 0;
+            int failedRanges = 0;
+            for (long from = 0L; from <= maxId; from += batch) {
+                long to = from + batch - 1;
+                try {
+                    inserted += insertRange(from, to);
+                } catch (Exception e) {
+                    failedRanges++;
+                    log.warn("ChatConversationBackfillRunner failed for user ids {}..{}: {}", from, to, e.getMessage());
+                }
+            }
+            if (inserted > 0) {
+                log.info("ChatConversationBackfillRunner: created {} conversation rows ({} ms)",
+                        inserted, System.currentTimeMillis() - started);
+            }
+            if (failedRanges == 0) markers.markDone(MARKER);
+        } catch (Exception e) {
+            log.warn("ChatConversationBackfillRunner failed: {}", e.getMessage());
+        }
+    }
+
+    private int insertRange(long from, long to) {
+        try {
+            return jdbc.update(INSERT_RANGE, from, to, from, to);
+        } catch (DataIntegrityViolationException e) {
+            // ChatService just created one of these pairs; on retry NOT EXISTS skips it.
+            return jdbc.update(INSERT_RANGE, from, to, from, to);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.BMN.chat;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChatConversationRepository extends JpaRepository<ChatConversation, Long> {
+
+    /** 받은편지함: 최근 대화순 (상대/마지막 메시지 함께 로딩) */
+    @Query("select c from ChatConversation c join fetch c.partner left join fetch c.lastMessage " +
+            "where c.user.id = :userId order by c.lastAt desc, c.id desc")
+    List<ChatConversation> findInbox(@Param("userId") Long userId, Pageable pageable);
+
+    /** 새 메시지 반영: 마지막 메시지 갱신 + 안 읽은 수 증가 (행이 없으면 0 반환) */
+    @Modifying
+    @Query(value = """
+        UPDATE chat_conversation
+        SET last_message_id = :messageId,
+            last_at = :at,
+            unread_count = unread_count + :unreadDelta
+        WHERE user_id = :userId AND partner_id = :partnerId
+        """, nativeQuery = true)
+    int touch(@Param("userId") Long userId, @Param("partnerId") Long partnerId,
+              @Param("messageId") Long messageId, @Param("at") LocalDateTime at,
+              @Param("unreadDelta") int unreadDelta);
+
+    /** 대화 행이 없을 때만 생성 (이미 있으면 0 반환, 예외 없음) */
+    @Modifying
+    @Query(value = """
+        INSERT INTO chat_conversation (user_id, partner_id, last_message_id, last_at, unread_count)
+        SELECT :userId, u.id, :messageId, :at, :unread FROM site_user u
+        WHERE u.id = :partnerId
+          AND NOT EXISTS (SELECT 1 FROM chat_conversation c WHERE c.user_id = :userId AND c.partner_id = :partnerId)
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("partnerId") Long partnerId,
+                       @Param("messageId") Long messageId, @Param("at") LocalDateTime at,
+                       @Param("unread") int unread);
+
+    @Modifying
+    @Query("update ChatConversation c set c.unreadCount = 0 where c.user.id = :userId and c.partner.id = :partnerId and c.unreadCount <> 0")
+    int clearUnread(@Param("userId") Long userId, @Param("partnerId") Long partnerId);
+}
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "chat_message",
         indexes = {
-                @Index(name = "idx_chat_sender_receiver_time", columnList = "sender_id,receiver_id,createdAt")
+                @Index(name = "idx_chat_pair_time_id", columnList = "sender_id,receiver_id,createdAt,id")
         })
 public class ChatMessage {
 
@@ -9,6 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Repository
@@ -17,18 +20,53 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query("select m from ChatMessage m where (m.sender = :me and m.receiver = :partner) or (m.sender = :partner and m.receiver = :me) order by m.createdAt desc")
     Page<ChatMessage> findThread(@Param("me") SiteUser me, @Param("partner") SiteUser partner, Pageable pageable);
 
-    @Query("select m from ChatMessage m where (m.sender = :me or m.receiver = :me) order by m.createdAt desc")
-    Page<ChatMessage> findRecentForUser(@Param("me") SiteUser me, Pageable pageable);
+    /*
+     * 커서 페이징: 방향(sender → receiver)별로 idx_chat_pair_time_id 를 역순으로 읽어 limit 개씩 가져온 뒤 합친다.
+     * (sender=me and receiver=p) or (sender=p and receiver=me) 를 한 쿼리로 쓰면 인덱스 순서대로 읽지 못해 대화 전체를 정렬하게 된다.
+     */
 
-    @Query("select m.sender.userName as partner, count(m) as unreadCount from ChatMessage m where m.receiver = :me and m.readAt is null group by m.sender.userName")
-    List<UnreadCount> countUnreadByPartner(@Param("me") SiteUser me);
+    // 한 방향 최신순
+    @Query("select m from ChatMessage m where m.sender = :sender and m.receiver = :receiver order by m.createdAt desc, m.id desc")
+    List<ChatMessage> findDirectionLatest(@Param("sender") SiteUser sender, @Param("receiver") SiteUser receiver, Pageable pageable);
+
+    // 한 방향에서 (createdAt, id) 가 커서보다 과거인 메시지
+    @Query("select m from ChatMessage m where m.sender = :sender and m.receiver = :receiver " +
+            "and (m.createdAt < :at or (m.createdAt = :at and m.id < :id)) order by m.createdAt desc, m.id desc")
+    List<ChatMessage> findDirectionBefore(@Param("sender") SiteUser sender, @Param("receiver") SiteUser receiver,
+                                          @Param("at") LocalDateTime at, @Param("id") Long id, Pageable pageable);
+
+    // 커서 페이징 첫 페이지: 최신순, COUNT 없음
+    default List<ChatMessage> findThreadLatest(SiteUser me, SiteUser partner, Pageable pageable) {
+        return mergeNewestFirst(findDirectionLatest(me, partner, pageable),
+                findDirectionLatest(partner, me, pageable), pageable.getPageSize());
+    }
+
+    // 커서 페이징 다음 페이지: (createdAt, id) 가 커서보다 과거인 메시지
+    default List<ChatMessage> findThreadBefore(SiteUser me, SiteUser partner, LocalDateTime at, Long id, Pageable pageable) {
+        return mergeNewestFirst(findDirectionBefore(me, partner, at, id, pageable),
+                findDirectionBefore(partner, me, at, id, pageable), pageable.getPageSize());
+    }
+
+    /** 각각 (createdAt desc, id desc) 로 정렬된 두 목록을 합쳐 앞에서 limit 개 (자기 자신과의 대화면 같은 행이 두 번 오므로 id 로 중복 제거) */
+    private static List<ChatMessage> mergeNewestFirst(List<ChatMessage> a, List<ChatMessage> b, int limit) {
+        Comparator<ChatMessage> newestFirst = Comparator.comparing(ChatMessage::getCreatedAt)
+                .thenComparing(ChatMessage::getId).reversed();
+        List<ChatMessage> out = new ArrayList<>(Math.min(limit, a.size() + b.size()));
+        int i = 0, j = 0;
+        while (out.size() < limit && (i < a.size() || j < b.size())) {
+            ChatMessage next;
+            if (j >= b.size() || (i < a.size() && newestFirst.compare(a.get(i), b.get(j)) <= 0)) next = a.get(i++);
+            else next = b.get(j++);
+            if (!out.isEmpty() && out.get(out.size() - 1).getId().equals(next.getId())) continue;
+            out.add(next);
+        }
+        return out;
+    }
+
+    @Query("select count(m) from ChatMessage m where (m.sender = :me and m.receiver = :partner) or (m.sender = :partner and m.receiver = :me)")
+    long countThread(@Param("me") SiteUser me, @Param("partner") SiteUser partner);
 
     @Modifying
     @Query("update ChatMessage m set m.readAt = current_timestamp where m.sender = :partner and m.receiver = :me and m.readAt is null")
     int markRead(@Param("me") SiteUser me, @Param("partner") SiteUser partner);
-
-    interface UnreadCount {
-        String getPartner();
-        long getUnreadCount();
-    }
 }
@@ -1,46 +1,54 @@
 package com.example.BMN.chat;
 
+import com.example.BMN.CursorPage;
+import com.example.BMN.User.FollowGraphCache;
 import com.example.BMN.User.JwtUtil;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserRepository;
+import io.jsonwebtoken.JwtException;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 
 @Service
 public class ChatService {
 
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatConversationRepository chatConversationRepository;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final FollowGraphCache followGraph;
+    private final SsePushHub pushHub;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
-    private final Map<Long, CopyOnWriteArrayList<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
-
-    public ChatService(ChatMessageRepository chatMessageRepository, UserRepository userRepository, JwtUtil jwtUtil) {
+    public ChatService(ChatMessageRepository chatMessageRepository, ChatConversationRepository chatConversationRepository,
+                       UserRepository userRepository, JwtUtil jwtUtil, FollowGraphCache followGraph,
+                       SsePushHub pushHub, ApplicationEventPublisher eventPublisher) {
         this.chatMessageRepository = chatMessageRepository;
+        this.chatConversationRepository = chatConversationRepository;
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
+        this.followGraph = followGraph;
+        this.pushHub = pushHub;
+        this.eventPublisher = eventPublisher;
     }
 
     /* ===== DTOs ===== */
@@ -48,6 +56,9 @@ public class ChatService {
     public record MessageBrief(String text, LocalDateTime createdAt) {}
     public record ConversationSummaryDto(String partner, String nickname, MessageBrief latestMessage, long unreadCount) {}
 
+    /** 커밋 후 SSE 로 내보낼 메시지 (트랜잭션 안에서 발행, AFTER_COMMIT 에 전송) */
+    public record MessageSavedEvent(Long senderId, String senderName, Long receiverId, String receiverName, MessageDto message) {}
+
     /* ===== Helpers ===== */
     private SiteUser currentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -76,50 +87,72 @@ public class ChatService {
         );
     }
 
-            private ConversationSummaryDto toSummary(ChatMessage m, SiteUser me) {
-        SiteUser partner = Objects.equals(m.getSender().getId(), me.getId()) ? m.getReceiver() : m.getSender();
+    private ConversationSummaryDto toSummary(ChatConversation c) {
+        SiteUser partner = c.getPartner();
         String displayName = (partner.getNickname() != null && !partner.getNickname().isBlank())
             ? partner.getNickname()
             : partner.getUserName();
+        ChatMessage last = c.getLastMessage();
         return new ConversationSummaryDto(
             partner.getUserName(),
             displayName,
-            new MessageBrief(m.getContent(), m.getCreatedAt()),
-            0
+            last != null ? new MessageBrief(last.getContent(), last.getCreatedAt()) : null,
+            c.getUnreadCount() != null ? c.getUnreadCount() : 0
         );
     }
 
-    private void pushToUser(SiteUser target, SiteUser counterpart, MessageDto dto) {
-        if (target == null) return;
-        var list = emittersByUser.getOrDefault(target.getId(), new CopyOnWriteArrayList<>());
-        if (list.isEmpty()) return;
+    /**
+     * 대화 요약 행 갱신 (보낸 쪽: 마지막 메시지만, 받는 쪽: 안 읽은 수 +1)
+     * 두 행을 항상 user_id 오름차순으로 갱신해서, 서로에게 동시에 보낼 때 교착을 피한다.
+     */
+    private void recordConversation(SiteUser sender, SiteUser receiver, ChatMessage m) {
+        if (Objects.equals(sender.getId(), receiver.getId())) {
+            touchConversation(sender.getId(), receiver.getId(), m, 0);
+            return;
+        }
+        if (sender.getId() < receiver.getId()) {
+            touchConversation(sender.getId(), receiver.getId(), m, 0);
+            touchConversation(receiver.getId(), sender.getId(), m, 1);
+        } else {
+            touchConversation(receiver.getId(), sender.getId(), m, 1);
+            touchConversation(sender.getId(), receiver.getId(), m, 0);
+        }
+    }
+
+    private void touchConversation(Long userId, Long partnerId, ChatMessage m, int unreadDelta) {
+        if (chatConversationRepository.touch(userId, partnerId, m.getId(), m.getCreatedAt(), unreadDelta) > 0) return;
+        if (chatConversationRepository.insertIfAbsent(userId, partnerId, m.getId(), m.getCreatedAt(), unreadDelta) > 0) return;
+        // 그 사이 다른 트랜잭션이 행을 만들었으면 다시 갱신
+        chatConversationRepository.touch(userId, partnerId, m.getId(), m.getCreatedAt(), unreadDelta);
+    }
+
+    private void pushToUser(Long targetId, String counterpartName, MessageDto dto) {
+        if (targetId == null) return;
         Map<String, Object> payload = new LinkedHashMap<>();
-        payload.put("partner", counterpart.getUserName());
+        payload.put("partner", counterpartName);
         payload.put("message", dto);
+        pushHub.publish(targetId, "message", payload);
+    }
 
-        list.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event().name("message").data(payload));
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-                cleanup(target.getId(), emitter);
-            }
-        });
+    /** 커밋된 메시지만 전송 (롤백된 메시지가 상대에게 보이지 않도록, 전송은 SsePushHub 가 비동기로) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSaved(MessageSavedEvent event) {
+        pushToUser(event.receiverId(), event.senderName(), event.message());
+        pushToUser(event.senderId(), event.receiverName(), event.message()); // echo for sender if listening elsewhere
     }
 
     private boolean canSend(SiteUser me, SiteUser partner) {
         if (me == null || partner == null) return false;
         if (Objects.equals(me.getId(), partner.getId())) return true; // self-echo safety
         // Sender must follow target
-        return userRepository.existsFollowing(me.getId(), partner.getId());
+        return followGraph.follows(me.getId(), partner.getId());
     }
 
     private boolean canViewThread(SiteUser me, SiteUser partner) {
         if (me == null || partner == null) return false;
         if (Objects.equals(me.getId(), partner.getId())) return true;
         // View allowed if either direction follows
-        return userRepository.existsFollowing(me.getId(), partner.getId())
-                || userRepository.existsFollowing(partner.getId(), me.getId());
+        return followGraph.eitherFollows(me.getId(), partner.getId());
     }
 
     private void ensureChatAllowed(SiteUser me, SiteUser partner) {
@@ -143,10 +176,12 @@ public class ChatService {
         saved.setReceiver(partner);
         saved.setContent(content.trim());
         saved = chatMessageRepository.save(saved);
+        chatMessageRepository.flush();
+        recordConversation(me, partner, saved);
 
         MessageDto dto = toDto(saved, me.getUserName());
-        pushToUser(partner, me, dto);
-        pushToUser(me, partner, dto); // echo for sender if listening elsewhere
+        eventPublisher.publishEvent(new MessageSavedEvent(
+                me.getId(), me.getUserName(), partner.getId(), partner.getUserName(), dto));
         return dto;
     }
 
@@ -165,32 +200,54 @@ public class ChatService {
         return new PageImpl<>(mapped, pageable, page.getTotalElements());
     }
 
+    /** 커서 페이징: after 가 비어 있으면 최신 메시지부터, 이후에는 커서보다 과거 메시지 (페이지 안은 시간순) */
     @Transactional
-    public List<ConversationSummaryDto> listConversations(int page, int size) {
+    public CursorPage<MessageDto> listMessagesBefore(String partnerUsername, String after, int size, boolean withTotal) {
         SiteUser me = currentUser();
-        PageRequest req = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<ChatMessage> recent = chatMessageRepository.findRecentForUser(me, req);
-
-        Map<String, ConversationSummaryDto> summaries = new LinkedHashMap<>();
-        for (ChatMessage m : recent.getContent()) {
-            SiteUser partner = Objects.equals(m.getSender().getId(), me.getId()) ? m.getReceiver() : m.getSender();
-            if (partner == null) continue;
-            if (!canViewThread(me, partner)) continue;
-            String key = partner.getUserName();
-            if (summaries.containsKey(key)) continue;
-            summaries.put(key, toSummary(m, me));
+        SiteUser partner = resolveUser(partnerUsername);
+        if (!canViewThread(me, partner)) {
+            throw new AccessDeniedException("채팅 내역을 볼 수 없습니다.");
         }
+        int s = Math.min(Math.max(1, size), 100);
+        Pageable limit = PageRequest.of(0, s + 1);
 
-        Map<String, Long> unreadMap = chatMessageRepository.countUnreadByPartner(me).stream()
-                .collect(Collectors.toMap(ChatMessageRepository.UnreadCount::getPartner, ChatMessageRepository.UnreadCount::getUnreadCount));
+        List<ChatMessage> fetched;
+        if (after == null || after.isBlank()) {
+            fetched = chatMessageRepository.findThreadLatest(me, partner, limit);
+        } else {
+            CursorPage.TimeId key = CursorPage.decodeTimeId(after);
+            fetched = chatMessageRepository.findThreadBefore(me, partner, key.at(), key.id(), limit);
+        }
+        Long total = withTotal ? chatMessageRepository.countThread(me, partner) : null;
 
-        return summaries.values().stream()
-                .map(s -> new ConversationSummaryDto(
-                        s.partner(),
-                        s.nickname(),
-                        s.latestMessage(),
-                        unreadMap.getOrDefault(s.partner(), 0L)
-                ))
+        CursorPage<ChatMessage> page = CursorPage.of(fetched, s, total,
+                m -> CursorPage.encode(m.getCreatedAt(), m.getId()));
+        List<MessageDto> mapped = page.content().stream()
+                .map(m -> toDto(m, me.getUserName()))
+                .sorted((a, b) -> a.createdAt().compareTo(b.createdAt()))
+                .toList();
+        return new CursorPage<>(mapped, page.next(), page.last(), page.total());
+    }
+
+    /** 받은편지함: chat_conversation 을 최근 대화순으로 읽고, 볼 수 있는 상대만 남긴다. (팔로우 관계는 FollowGraphCache) */
+    @Transactional
+    public List<ConversationSummaryDto> listConversations(int page, int size) {
+        SiteUser me = currentUser();
+        List<ChatConversation> rows = chatConversationRepository.findInbox(
+                me.getId(), PageRequest.of(Math.max(0, page), Math.max(1, size)));
+        if (rows.isEmpty()) return List.of();
+
+        // 내 팔로잉/팔로워 id 두 집합만으로 판단 (상대별 조회 없음)
+        long[] myFollowing = followGraph.followingOf(me.getId());
+        long[] myFollowers = followGraph.followersOf(me.getId());
+        return rows.stream()
+                .filter(c -> {
+                    long pid = c.getPartner().getId();
+                    return pid == me.getId()
+                            || Arrays.binarySearch(myFollowing, pid) >= 0
+                            || Arrays.binarySearch(myFollowers, pid) >= 0;
+                })
+                .map(this::toSummary)
                 .toList();
     }
 
@@ -199,39 +256,25 @@ public class ChatService {
         SiteUser me = currentUser();
         SiteUser partner = resolveUser(partnerUsername);
         chatMessageRepository.markRead(me, partner);
+        chatConversationRepository.clearUnread(me.getId(), partner.getId());
     }
 
     public SseEmitter subscribe(String token) {
         SiteUser me = resolveFromTokenOrContext(token);
-        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
-        emittersByUser.computeIfAbsent(me.getId(), k -> new CopyOnWriteArrayList<>()).add(emitter);
-
-        emitter.onCompletion(() -> cleanup(me.getId(), emitter));
-        emitter.onTimeout(() -> cleanup(me.getId(), emitter));
-        emitter.onError(e -> cleanup(me.getId(), emitter));
-
-        try {
-            emitter.send(SseEmitter.event().name("ping").data("connected"));
-        } catch (IOException e) {
-            emitter.completeWithError(e);
-        }
-        return emitter;
+        return pushHub.register(me.getId());
     }
 
     private SiteUser resolveFromTokenOrContext(String token) {
         if (token != null && !token.isBlank()) {
-            if (!jwtUtil.validateToken(token)) {
+            String username;
+            try {
+                // 서명/만료 검증과 subject 추출을 한 번의 파싱으로
+                username = jwtUtil.extractUsername(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 throw new AccessDeniedException("Invalid token");
             }
-            String username = jwtUtil.extractUsername(token);
             return resolveUser(username);
         }
         return currentUser();
     }
-
-    private void cleanup(Long userId, SseEmitter emitter) {
-        if (userId == null) return;
-        var list = emittersByUser.getOrDefault(userId, new CopyOnWriteArrayList<>());
-        list.remove(emitter);
-    }
 }
@@ -0,0 +1,284 @@
+package com.example.BMN.chat;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 SSE 연결 관리 + 비동기 전송 허브
+ *
+ * - 연결마다 크기가 제한된 송신 큐를 둔다. 가득 차면 가장 오래된 이벤트를 버리고 새 이벤트를 넣는다.
+ *   (연결은 유지: 채팅/알림이 같은 스트림을 쓰므로 잠깐 몰린 이벤트 때문에 재연결시키지 않는다)
+ * - 실제 전송은 작은 전용 스레드풀에서 한다. 연결당 동시에 하나의 드레인 작업만 돈다.
+ *   → publish 는 큐에 넣고 바로 반환하므로 요청 스레드/DB 트랜잭션이 클라이언트 속도에 묶이지 않는다.
+ * - send 하나가 app.sse.send-timeout-ms 를 넘기면 그 연결을 끊고 전송 스레드를 깨운다.
+ *   (느린 클라이언트 하나가 풀 스레드를 붙잡아 다른 사용자 전송이 밀리지 않도록)
+ * - 주기적으로 heartbeat 주석(: hb)을 보내서 프록시 유휴 타임아웃을 막고, 끊긴 연결은 전송 실패 시 정리한다.
+ * - heartbeat / 전송 지연 검사는 전용 타이머 스레드에서 돈다. (공용 @Scheduled 스레드는 하나뿐이라
+ *   재계산/정합성 배치가 도는 동안 1초 지연 검사가 밀리기 때문)
+ */
+@Slf4j
+@Component
+public class SsePushHub {
+
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+
+    // 지표
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong reaped = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    public SsePushHub(@Value("${app.sse.queue-capacity:100}") int queueCapacity,
+                      @Value("${app.sse.timeout-ms:1800000}") long timeoutMs,
+                      @Value("${app.sse.push-threads:4}") int threads,
+                      @Value("${app.sse.send-timeout-ms:5000}") long sendTimeoutMs,
+                      @Value("${app.sse.heartbeat-ms:15000}") long heartbeatMs,
+                      @Value("${app.sse.stall-check-ms:1000}") long stallCheckMs) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = Math.max(100, sendTimeoutMs);
+        AtomicInteger seq = new AtomicInteger();
+        // 연결당 드레인 작업은 최대 1개이므로 작업 큐 길이는 연결 수를 넘지 않는다.
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "sse-push-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        long hb = Math.max(100, heartbeatMs);
+        long check = Math.max(100, stallCheckMs);
+        timer.scheduleWithFixedDelay(guarded(this::heartbeat), hb, hb, TimeUnit.MILLISECONDS);
+        timer.scheduleWithFixedDelay(guarded(this::reapStalled), check, check, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        connectionsByUser.values().forEach(set -> set.forEach(Connection::close));
+        executor.shutdown();
+    }
+
+    /** 예외가 나도 주기 작업이 멈추지 않도록 (ScheduledExecutorService 는 예외 시 다음 실행을 취소한다) */
+    private static Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("SSE timer task failed: {}", e.getMessage());
+            }
+        };
+    }
+
+    /** 새 연결 등록 (연결 확인용 ping 이벤트를 첫 이벤트로 보낸다) */
+    public SseEmitter register(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection conn = new Connection(userId, emitter);
+        connectionsByUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(conn);
+
+        emitter.onCompletion(() -> remove(conn));
+        emitter.onTimeout(() -> remove(conn));
+        emitter.onError(e -> remove(conn));
+
+        conn.offer(SseEmitter.event().name("ping").data("connected"));
+        return emitter;
+    }
+
+    /** 사용자의 모든 연결에 이벤트를 보낸다. (비동기, 즉시 반환) */
+    public void publish(Long userId, String eventName, Object data) {
+        if (userId == null) return;
+        Set<Connection> set = connectionsByUser.get(userId);
+        if (set == null || set.isEmpty()) return;
+        for (Connection conn : set) {
+            conn.offer(SseEmitter.event().name(eventName).data(data));
+        }
+    }
+
+    public boolean isConnected(Long userId) {
+        Set<Connection> set = connectionsByUser.get(userId);
+        return set != null && !set.isEmpty();
+    }
+
+    void heartbeat() {
+        for (Set<Connection> set : connectionsByUser.values()) {
+            for (Connection conn : set) {
+                conn.offer(SseEmitter.event().comment("hb"));
+            }
+        }
+    }
+
+    /** 전송 중인 send 가 제한 시간을 넘긴 연결을 끊는다. */
+    void reapStalled() {
+        long now = System.currentTimeMillis();
+        for (Set<Connection> set : connectionsByUser.values()) {
+            for (Connection conn : set) {
+                conn.abortIfStalled(now);
+            }
+        }
+    }
+
+    public record Stats(int users, int connections, long queued, int maxQueueDepth,
+                        long sent, long dropped, long reaped, long stalled) {}
+
+    public Stats stats() {
+        int users = 0, connections = 0, maxDepth = 0;
+        long queued = 0;
+        for (Set<Connection> set : connectionsByUser.values()) {
+            if (set.isEmpty()) continue;
+            users++;
+            for (Connection conn : set) {
+                connections++;
+                int depth = conn.depth();
+                queued += depth;
+                maxDepth = Math.max(maxDepth, depth);
+            }
+        }
+        return new Stats(users, connections, queued, maxDepth, sent.get(), dropped.get(), reaped.get(),
+                stalled.get());
+    }
+
+    private void remove(Connection conn) {
+        if (!conn.closed.compareAndSet(false, true)) return;
+        connectionsByUser.computeIfPresent(conn.userId, (k, set) -> {
+            set.remove(conn);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /* ---------------- 연결 ---------------- */
+
+    private final class Connection {
+        final Long userId;
+        final SseEmitter emitter;
+        final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        final AtomicBoolean draining = new AtomicBoolean(false);
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        // 진행 중인 send (시작 시각, 스레드). this 로 동기화
+        private long sendStartedAt = 0L;
+        private Thread sender;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) return;
+            synchronized (queue) {
+                // 가득 차면 가장 오래된 이벤트를 버린다.
+                if (queue.size() >= queueCapacity && queue.pollFirst() != null) dropped.incrementAndGet();
+                queue.addLast(event);
+            }
+            scheduleDrain();
+        }
+
+        int depth() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    SseEmitter.SseEventBuilder next;
+                    synchronized (queue) {
+                        next = queue.pollFirst();
+                    }
+                    if (next == null) break;
+                    beginSend();
+                    try {
+                        emitter.send(next);
+                    } finally {
+                        endSend();
+                    }
+                    sent.incrementAndGet();
+                }
+            } catch (Exception e) {
+                // 끊긴 연결: 정리하고 남은 이벤트는 버린다.
+                reaped.incrementAndGet();
+                log.debug("SSE connection for user {} dropped: {}", userId, e.getMessage());
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // 드레인 종료 직전에 들어온 이벤트가 있으면 다시 예약
+            if (!closed.get() && depth() > 0) scheduleDrain();
+        }
+
+        private synchronized void beginSend() {
+            sender = Thread.currentThread();
+            sendStartedAt = System.currentTimeMillis();
+        }
+
+        private synchronized void endSend() {
+            sender = null;
+            sendStartedAt = 0L;
+            // 제한 시간 초과로 걸린 interrupt 가 풀 스레드의 다음 작업으로 새지 않도록 지운다.
+            Thread.interrupted();
+        }
+
+        void abortIfStalled(long now) {
+            synchronized (this) {
+                if (sendStartedAt == 0L || now - sendStartedAt < sendTimeoutMs) return;
+                if (sender != null) sender.interrupt();
+            }
+            stalled.incrementAndGet();
+            log.debug("SSE send to user {} exceeded {} ms; closing connection", userId, sendTimeoutMs);
+            close();
+        }
+
+        void close() {
+            remove(this);
+            synchronized (queue) {
+                queue.clear();
+            }
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
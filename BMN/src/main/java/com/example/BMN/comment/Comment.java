@@ -19,7 +19,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "comments") // 🔁 예약어 피하기 위해 복수형 사용
+@Table(name = "comments", // 🔁 예약어 피하기 위해 복수형 사용
+        indexes = {
+                // 레시피별 댓글 커서 페이징 (createdAt, id 순)
+                @Index(name = "idx_comments_recipe_time", columnList = "recipe_id,createdAt,id")
+        })
 public class Comment {
 
     @Id
@@ -20,7 +20,16 @@ public class CommentController {
 
     // 댓글 목록
     @GetMapping("/{recipeId}/comments")
-    public ResponseEntity<List<CommentDTO>> list(@PathVariable Long recipeId) {
+    public ResponseEntity<?> list(
+            @PathVariable Long recipeId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        // after 가 있으면(빈 값 = 첫 페이지) 커서 페이지, 없으면 기존처럼 전체 목록
+        if (after != null) {
+            return ResponseEntity.ok(service.listAfter(recipeId, after, size, count));
+        }
         return ResponseEntity.ok(service.list(recipeId));
     }
 
@@ -2,12 +2,28 @@ package com.example.BMN.comment;
 
 import com.example.BMN.Recipe.Recipe;
 import com.example.BMN.User.SiteUser;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByRecipeIdOrderByCreatedAtAsc(Long recipeId);
     List<Comment> findByRecipe(Recipe recipe);
+
+    // 커서 페이징 첫 페이지 (작성순, COUNT 없음)
+    List<Comment> findByRecipeIdOrderByCreatedAtAscIdAsc(Long recipeId, Pageable pageable);
+
+    // 커서 페이징 다음 페이지: (createdAt, id) 가 커서보다 뒤인 댓글
+    @Query("select c from Comment c where c.recipe.id = :recipeId " +
+            "and (c.createdAt > :at or (c.createdAt = :at and c.id > :id)) order by c.createdAt asc, c.id asc")
+    List<Comment> findByRecipeIdAfter(@Param("recipeId") Long recipeId, @Param("at") LocalDateTime at,
+                                      @Param("id") Long id, Pageable pageable);
+
+    long countByRecipeId(Long recipeId);
     
     /** 특정 작성자의 모든 댓글 삭제 (회원 탈퇴 시 사용) */
     void deleteByAuthor(SiteUser author);
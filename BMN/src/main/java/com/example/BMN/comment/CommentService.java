@@ -1,10 +1,13 @@
 package com.example.BMN.comment;
 
+import com.example.BMN.CursorPage;
 import com.example.BMN.Recipe.Recipe;
 import com.example.BMN.Recipe.RecipeRepository;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,11 +29,30 @@ public class CommentService {
                 .stream().map(CommentDTO::from).toList();
     }
 
+    // ✅ 댓글 목록 커서 페이징 (after 가 비어 있으면 첫 페이지)
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDTO> listAfter(Long recipeId, String after, int size, boolean withTotal) {
+        int s = Math.min(Math.max(1, size), 100);
+        Pageable limit = PageRequest.of(0, s + 1);
+
+        List<Comment> fetched;
+        if (after == null || after.isBlank()) {
+            fetched = commentRepository.findByRecipeIdOrderByCreatedAtAscIdAsc(recipeId, limit);
+        } else {
+            CursorPage.TimeId key = CursorPage.decodeTimeId(after);
+            fetched = commentRepository.findByRecipeIdAfter(recipeId, key.at(), key.id(), limit);
+        }
+        Long total = withTotal ? commentRepository.countByRecipeId(recipeId) : null;
+        return CursorPage.of(fetched, s, total, c -> CursorPage.encode(c.getCreatedAt(), c.getId()))
+                .map(CommentDTO::from);
+    }
+
     // ✅ 댓글 생성 + 평균 갱신
     @Transactional
     public CommentDTO create(Long recipeId, Long userId, String content, Integer rating) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new IllegalArgumentException("레시피가 존재하지 않습니다."));
+        if (!recipeRepository.existsById(recipeId))
+            throw new IllegalArgumentException("레시피가 존재하지 않습니다.");
+        Recipe recipe = recipeRepository.getReferenceById(recipeId);
         SiteUser user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자가 존재하지 않습니다."));
 
@@ -43,8 +65,8 @@ public class CommentService {
 
         Comment saved = commentRepository.save(c);
 
-        // ✅ 평균 평점 자동 갱신
-        updateRecipeRating(recipe);
+        // ✅ 평균 평점 증분 갱신
+        applyRatingChange(recipeId, null, rating);
 
         return CommentDTO.from(saved);
     }
@@ -58,12 +80,13 @@ public class CommentService {
         if (!isOwner(c, userId))
             throw new AccessDeniedException("본인 댓글만 수정할 수 있습니다.");
 
+        Integer oldRating = c.getRating();
         c.setContent(content);
         c.setRating(rating);
         Comment updated = commentRepository.save(c);
 
-        // ✅ 평균 평점 갱신
-        updateRecipeRating(c.getRecipe());
+        // ✅ 평균 평점 증분 갱신
+        applyRatingChange(c.getRecipe().getId(), oldRating, rating);
 
         return CommentDTO.from(updated);
     }
@@ -77,11 +100,12 @@ public class CommentService {
         if (!isOwner(c, userId))
             throw new AccessDeniedException("본인 댓글만 삭제할 수 있습니다.");
 
-        Recipe recipe = c.getRecipe();
+        Long recipeId = c.getRecipe().getId();
+        Integer oldRating = c.getRating();
         commentRepository.delete(c);
 
-        // ✅ 평균 평점 갱신
-        updateRecipeRating(recipe);
+        // ✅ 평균 평점 증분 갱신
+        applyRatingChange(recipeId, oldRating, null);
     }
 
     // ✅ 소유자 확인
@@ -90,23 +114,11 @@ public class CommentService {
         return c.getAuthor().getId().equals(userId);
     }
 
-    // ✅ 평균 평점 자동 계산 후 저장
-    private void updateRecipeRating(Recipe recipe) {
-        List<Comment> comments = commentRepository.findByRecipe(recipe);
-
-        if (comments.isEmpty()) {
-            recipe.setAverageRating(0.0);
-            recipe.setRatingCount(0);
-        } else {
-            double avg = comments.stream()
-                    .filter(cc -> cc.getRating() != null)
-                    .mapToInt(Comment::getRating)
-                    .average()
-                    .orElse(0.0);
-            recipe.setAverageRating(avg);
-            recipe.setRatingCount(comments.size());
-        }
-
-        recipeRepository.save(recipe);
+    // ✅ 평점 변경분만 레시피에 원자적으로 반영 (평점 없는 댓글은 개수에 포함하지 않음)
+    private void applyRatingChange(Long recipeId, Integer oldRating, Integer newRating) {
+        long sumDelta = (newRating != null ? newRating : 0) - (oldRating != null ? oldRating : 0);
+        int countDelta = (newRating != null ? 1 : 0) - (oldRating != null ? 1 : 0);
+        if (sumDelta == 0 && countDelta == 0) return;
+        recipeRepository.applyRatingDelta(recipeId, sumDelta, countDelta);
     }
-}
\ No newline at end of file
+}
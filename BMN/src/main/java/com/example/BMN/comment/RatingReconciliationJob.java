@@ -0,0 +1,86 @@
+package com.example.BMN.comment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * recipe.rating_sum / rating_count / average_rating 을 comments 테이블 기준으로 다시 맞추는 배치
+ *
+ * 평소에는 CommentService 가 증감만 반영하므로, 회원 탈퇴 시 일괄 삭제(deleteByAuthor)나
+ * 수동 DB 작업으로 어긋난 값을 주기적으로(및 기동 시) 보정한다.
+ *
+ * 레시피 행을 먼저 읽고 집계를 읽은 뒤, 읽었던 값이 그대로일 때만 갱신한다.
+ * (그 사이 댓글 작성으로 증감이 반영됐다면 이미 최신이므로 건드리지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingReconciliationJob implements ApplicationRunner {
+
+    private static final int BATCH = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${app.rating.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        int fixed = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Map<String, Object>> recipes = jdbc.queryForList(
+                        "SELECT id, rating_sum, rating_count FROM recipe WHERE id > ? ORDER BY id LIMIT ?",
+                        lastId, BATCH);
+                if (recipes.isEmpty()) break;
+
+                long fromId = ((Number) recipes.get(0).get("id")).longValue();
+                long toId = ((Number) recipes.get(recipes.size() - 1).get("id")).longValue();
+
+                // recipeId → {합계, 개수} (평점 있는 댓글만)
+                Map<Long, long[]> actual = new HashMap<>();
+                jdbc.query(
+                        "SELECT recipe_id, SUM(rating) AS s, COUNT(rating) AS c FROM comments " +
+                        "WHERE recipe_id BETWEEN ? AND ? AND rating IS NOT NULL GROUP BY recipe_id",
+                        rs -> {
+                            actual.put(rs.getLong("recipe_id"), new long[]{rs.getLong("s"), rs.getLong("c")});
+                        },
+                        fromId, toId);
+
+                for (Map<String, Object> r : recipes) {
+                    long id = ((Number) r.get("id")).longValue();
+                    Number curSum = (Number) r.get("rating_sum");
+                    long curCount = r.get("rating_count") == null ? 0L : ((Number) r.get("rating_count")).longValue();
+                    long[] a = actual.getOrDefault(id, new long[]{0L, 0L});
+
+                    if (curSum != null && curSum.longValue() == a[0] && curCount == a[1]) continue;
+
+                    double avg = a[1] > 0 ? (double) a[0] / a[1] : 0.0;
+                    int updated = jdbc.update(
+                            "UPDATE recipe SET rating_sum = ?, rating_count = ?, average_rating = ?, trending_dirty = TRUE " +
+                            "WHERE id = ? AND rating_count = ? AND COALESCE(rating_sum, -1) = ?",
+                            a[0], a[1], avg, id, curCount, curSum == null ? -1L : curSum.longValue());
+                    fixed += updated;
+                }
+                lastId = toId;
+            }
+        } catch (Exception e) {
+            log.warn("Rating reconciliation failed: {}", e.getMessage());
+            return;
+        }
+        log.info("Rating reconciliation finished: {} recipes corrected ({} ms)", fixed, System.currentTimeMillis() - started);
+    }
+}
@@ -5,6 +5,8 @@ import com.example.BMN.Recipe.Recipe;
 import com.example.BMN.Recipe.RecipeRepository;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserRepository; // ✅ 여기!
+import com.example.BMN.storage.BlobResponses;
+import com.example.BMN.storage.ImageVariantService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,7 +26,9 @@ public class MealPlanService {
     private MealPlanDTO toDTO(MealPlan e) {
         Long rid = e.getRecipe() != null ? e.getRecipe().getId() : null;
         String rtitle = e.getRecipe() != null ? e.getRecipe().getSubject() : null;
-        String thumb = rid != null ? "/recipe/thumbnail/" + rid : null;
+        String thumb = rid != null
+                ? BlobResponses.variantUrl("/recipe/thumbnail/" + rid, null, ImageVariantService.CARD_WIDTH)
+                : null;
 
         return MealPlanDTO.builder()
                 .id(e.getId())
@@ -6,10 +6,12 @@ import com.example.BMN.Recipe.FavoriteRepository;
 import com.example.BMN.Recipe.Recipe;
 import com.example.BMN.Recipe.RecipeDTO;
 import com.example.BMN.Recipe.RecipeRepository;
+import com.example.BMN.Recipe.RecipeService;
 import com.example.BMN.User.PublicUserDTO;
 import com.example.BMN.User.SiteUser;
 import com.example.BMN.User.UserRepository;
 import com.example.BMN.User.UserService;
+import com.example.BMN.User.JwtPrincipalCache;
 import com.example.BMN.User.JwtUtil;
 import com.example.BMN.User.EmailService;
 import com.example.BMN.User.PendingEmailChange;
@@ -51,12 +53,14 @@ public class ProfileController {
     private final UserRepository userRepository;
     private final UserService userService;
     private final RecipeRepository recipeRepository;
+    private final RecipeService recipeService;
     private final FavoriteRepository favoriteRepository;
     private final CommentRepository commentRepository;
     private final PendingEmailChangeRepository pendingEmailChangeRepository;
     private final PendingRegistrationRepository pendingRegistrationRepository;
     private final EmailService emailService;
     private final JwtUtil jwtUtil;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
     /* ======================= 내부 유틸 ======================= */
 
@@ -138,22 +142,25 @@ public class ProfileController {
         SiteUser me = userOpt.get();
         PublicUserDTO dto = PublicUserDTO.fromEntity(me);
         dto.setEmailVerified(me.getEmailVerified());
-        dto.setFollowingCount(userService.countFollowing(me.getUserName()));
-        dto.setFollowerCount(userService.countFollowers(me.getUserName()));
+        if (dto.getFollowingCount() == null) dto.setFollowingCount(userService.countFollowing(me.getUserName()));
+        if (dto.getFollowerCount() == null) dto.setFollowerCount(userService.countFollowers(me.getUserName()));
         dto.setFollowedByMe(false); // 본인은 자기 자신을 팔로우하지 않음
         return ResponseEntity.ok(dto);
     }
 
-    /** ✅ 내가 작성한 레시피 목록 (클라이언트가 카드에 필요한 모든 필드를 사용하도록 RecipeDTO로 반환) */
+    /** ✅ 내가 작성한 레시피 목록 (카드 필드만 조회하는 RecipeCardView, after 가 있으면 커서 페이지, 없으면 배열) */
     @GetMapping("/me/recipes")
-    public ResponseEntity<List<RecipeDTO>> myRecipes() {
+    public ResponseEntity<?> myRecipes(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
         try {
             SiteUser me = currentUser();
-            List<RecipeDTO> list = recipeRepository.findAllByAuthorOrderByIdDesc(me)
-                    .stream()
-                    .map(RecipeDTO::new)
-                    .toList();
-            return ResponseEntity.ok(list);
+            if (after != null) {
+                return ResponseEntity.ok(recipeService.listCardsByAuthorAfter(me, after, size, count));
+            }
+            return ResponseEntity.ok(recipeService.listCardsByAuthor(me));
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(401).build();
         }
@@ -242,12 +249,13 @@ public class ProfileController {
             me.getLike().clear();
 
             // 4. 팔로우/팔로워 관계 정리
-            me.getFollow().clear();
-            me.getFollower().clear();
+            // (상대방 팔로워/팔로잉 카운터를 먼저 줄이고 user_follow 정리)
+            userService.detachFollowGraph(me);
             userRepository.save(me);
 
-            // 5. 유저 삭제
+            // 5. 유저 삭제 (캐시된 JWT 인증도 제거)
             userRepository.delete(me);
+            jwtPrincipalCache.evictUser(userName);
 
             log.info("User deleted: id={} userName={}", userId, userName);
 
@@ -436,8 +444,8 @@ public class ProfileController {
         }
         
         dto.setEmailVerified(target.getEmailVerified());
-        dto.setFollowingCount(userService.countFollowing(username));
-        dto.setFollowerCount(userService.countFollowers(username));
+        if (dto.getFollowingCount() == null) dto.setFollowingCount(userService.countFollowing(username));
+        if (dto.getFollowerCount() == null) dto.setFollowerCount(userService.countFollowers(username));
         boolean followedByMe = false;
         boolean followsMe = false;
         if (me != null) {
@@ -575,15 +583,19 @@ public class ProfileController {
 
     /* ======================= 타 사용자의 레시피/즐겨찾기 ======================= */
 
-    /** ✅ 타 사용자가 작성한 레시피 목록 */
+    /** ✅ 타 사용자가 작성한 레시피 목록 (after 가 있으면 커서 페이지, 없으면 배열) */
     @GetMapping("/{username}/recipes")
-    public ResponseEntity<List<RecipeDTO>> userRecipes(@PathVariable String username) {
+    public ResponseEntity<?> userRecipes(
+            @PathVariable String username,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
         SiteUser target = findByUsername(username);
-        List<RecipeDTO> list = recipeRepository.findAllByAuthorOrderByIdDesc(target)
-                .stream()
-                .map(RecipeDTO::new)
-                .toList();
-        return ResponseEntity.ok(list);
+        if (after != null) {
+            return ResponseEntity.ok(recipeService.listCardsByAuthorAfter(target, after, size, count));
+        }
+        return ResponseEntity.ok(recipeService.listCardsByAuthor(target));
     }
 
     /** ✅ 타 사용자가 즐겨찾기한 레시피 목록 */
@@ -773,7 +785,9 @@ public class ProfileController {
                         return ResponseEntity.badRequest().body(java.util.Map.of("message", "이미 사용 중인 아이디입니다."));
                     }
                     log.info("Setting userName for user id={} : {} -> {}", me.getId(), me.getUserName(), newUserName);
+                    String oldUserName = me.getUserName();
                     me.setUserName(newUserName);
+                    jwtPrincipalCache.evictUser(oldUserName);
                 }
             }
 
@@ -0,0 +1,87 @@
+package com.example.BMN.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 레시피 검색용 토크나이저 (형태소 분석기 없이 동작하는 한글 bigram 방식)
+ *
+ * - 한글 음절 구간: 2글자씩 겹쳐 자른다. ("김치찌개" → 김치, 치찌, 찌개)
+ *   한 글자짜리 구간은 그대로 토큰으로 둔다. ("국", "밥")
+ * - 영문/숫자 구간: 소문자로 바꾼 단어 하나를 토큰으로 둔다.
+ * - 그 외 문자(공백, 기호, 이모지 등)는 구분자로 취급한다.
+ *
+ * 색인과 질의에 같은 규칙을 쓰므로 "김치" 로 "김치찌개", "묵은지김치" 모두 찾을 수 있다.
+ *
+ * 색인 쪽({@link #tokenizeForIndex})은 짧은 질의도 찾히도록 토큰을 더 넣는다.
+ * - 한글 음절 하나하나 (unigram) → "국" 으로 "된장국"
+ * - 영문/숫자 단어의 앞부분 (최대 MAX_PREFIX 글자) → "kim" 으로 "kimchi"
+ */
+public final class KoreanBigramTokenizer {
+
+    private static final int MAX_PREFIX = 10;
+
+    private KoreanBigramTokenizer() {}
+
+    /** 질의용 토큰 */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /** 색인용 토큰 (질의용 + 한글 unigram + 영문/숫자 접두어) */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    private static List<String> tokenize(String text, boolean index) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isEmpty()) return out;
+
+        String s = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (isHangulSyllable(c)) {
+                int start = i;
+                while (i < n && isHangulSyllable(s.charAt(i))) i++;
+                emitBigrams(s, start, i, out);
+                if (index && i - start > 1) {
+                    for (int j = start; j < i; j++) out.add(s.substring(j, j + 1));
+                }
+            } else if (isLatinOrDigit(c)) {
+                int start = i;
+                while (i < n && isLatinOrDigit(s.charAt(i))) i++;
+                out.add(s.substring(start, i));
+                if (index) {
+                    for (int len = 1; len < Math.min(i - start, MAX_PREFIX + 1); len++) {
+                        out.add(s.substring(start, start + len));
+                    }
+                }
+            } else {
+                i++;
+            }
+        }
+        return out;
+    }
+
+    private static void emitBigrams(String s, int start, int end, List<String> out) {
+        if (end - start == 1) {
+            out.add(s.substring(start, end));
+            return;
+        }
+        for (int j = start; j + 1 < end; j++) {
+            out.add(s.substring(j, j + 2));
+        }
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static boolean isLatinOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+}
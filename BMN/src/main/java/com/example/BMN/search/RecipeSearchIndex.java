@@ -0,0 +1,266 @@
+package com.example.BMN.search;
+
+import com.example.BMN.Recipe.RecipeIngredientRepository;
+import com.example.BMN.Recipe.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 레시피 전문 검색 색인 (인메모리 역색인 + BM25F)
+ *
+ * - 필드: 제목(subject) / 재료명(ingredientRows.name) / 설명(description)
+ * - 토큰: {@link KoreanBigramTokenizer} (한글 bigram + 영문/숫자 단어, 색인에는 한글 unigram/영문 접두어도 추가)
+ * - 점수: 필드 가중치를 적용한 BM25F. 질의 토큰의 절반 이상이 일치한 문서만 결과에 포함
+ * - 기동 시 DB 에서 페이지 단위로 읽어 구성하고, 이후에는 RecipeService 가 커밋 후 put/remove 로 갱신
+ *
+ * 정렬/페이징은 색인 전체 기준으로 하므로 페이지가 바뀌어도 순위가 일관된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeSearchIndex implements ApplicationRunner {
+
+    private static final int F_SUBJECT = 0;
+    private static final int F_INGREDIENT = 1;
+    private static final int F_DESCRIPTION = 2;
+    private static final int FIELDS = 3;
+
+    private static final double[] WEIGHTS = {3.0, 2.0, 1.0};
+    private static final double[] B = {0.75, 0.5, 0.75};
+    private static final double K1 = 1.2;
+
+    private static final int BUILD_BATCH = 1000;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private volatile boolean loaded = false;
+    // rebuild 도중 들어온 put/remove (recipeId → 마지막 변경). 교체 직전에 새 세그먼트에 다시 적용한다. (lock 으로 보호)
+    private Map<Long, Change> pendingChanges = null;
+
+    /* ---------------- 색인 구조 ---------------- */
+
+    // 문서 하나의 필드별 길이와 보유 토큰 (삭제/교체 시 posting 정리용)
+    private record Doc(int[] lengths, Set<String> terms) {}
+
+    // rebuild 중 기록해 두는 변경 (removed 이면 삭제)
+    private record Change(boolean removed, String subject, String description, List<String> ingredientNames) {}
+
+    private static final class Segment {
+        // token → (recipeId → 필드별 tf)
+        final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+        final Map<Long, Doc> docs = new HashMap<>();
+        final long[] totalLengths = new long[FIELDS];
+
+        void add(Long id, String subject, String description, Collection<String> ingredientNames) {
+            Map<String, int[]> tfs = new HashMap<>();
+            int[] lengths = new int[FIELDS];
+            lengths[F_SUBJECT] = count(tfs, F_SUBJECT, subject);
+            lengths[F_DESCRIPTION] = count(tfs, F_DESCRIPTION, description);
+            if (ingredientNames != null) {
+                for (String name : ingredientNames) lengths[F_INGREDIENT] += count(tfs, F_INGREDIENT, name);
+            }
+            if (tfs.isEmpty()) return;
+
+            for (Map.Entry<String, int[]> e : tfs.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(id, e.getValue());
+            }
+            for (int f = 0; f < FIELDS; f++) totalLengths[f] += lengths[f];
+            docs.put(id, new Doc(lengths, Set.copyOf(tfs.keySet())));
+        }
+
+        void remove(Long id) {
+            Doc old = docs.remove(id);
+            if (old == null) return;
+            for (int f = 0; f < FIELDS; f++) totalLengths[f] -= old.lengths()[f];
+            for (String term : old.terms()) {
+                Map<Long, int[]> p = postings.get(term);
+                if (p == null) continue;
+                p.remove(id);
+                if (p.isEmpty()) postings.remove(term);
+            }
+        }
+
+        private static int count(Map<String, int[]> tfs, int field, String text) {
+            List<String> tokens = KoreanBigramTokenizer.tokenizeForIndex(text);
+            for (String t : tokens) tfs.computeIfAbsent(t, k -> new int[FIELDS])[field]++;
+            return tokens.size();
+        }
+    }
+
+    /* ---------------- 구성/갱신 ---------------- */
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureLoaded();
+    }
+
+    /**
+     * DB 기준으로 전체 색인을 다시 만든다. (새 세그먼트를 만든 뒤 교체)
+     * 만드는 동안의 put/remove 는 기존 세그먼트에 반영하면서 따로 기록해 두었다가, 교체 직전에 새 세그먼트에도 적용한다.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Segment fresh = build();
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<Long, Change> e : pendingChanges.entrySet()) {
+                    Change c = e.getValue();
+                    fresh.remove(e.getKey());
+                    if (!c.removed()) fresh.add(e.getKey(), c.subject(), c.description(), c.ingredientNames());
+                }
+                segment = fresh;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("RecipeSearchIndex built: docs={}, terms={} ({} ms)",
+                    fresh.docs.size(), fresh.postings.size(), System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Segment build() {
+        Segment fresh = new Segment();
+        long lastId = 0L;
+        while (true) {
+            List<RecipeRepository.SearchRow> rows =
+                    recipeRepository.findSearchRowsAfter(lastId, PageRequest.of(0, BUILD_BATCH));
+            if (rows.isEmpty()) break;
+
+            List<Long> ids = rows.stream().map(RecipeRepository.SearchRow::getId).toList();
+            Map<Long, List<String>> names = new HashMap<>();
+            for (RecipeIngredientRepository.NormRow ri : recipeIngredientRepository.findNormRowsByRecipeIdIn(ids)) {
+                names.computeIfAbsent(ri.getRecipeId(), k -> new ArrayList<>()).add(ri.getName());
+            }
+            for (RecipeRepository.SearchRow r : rows) {
+                fresh.add(r.getId(), r.getSubject(), r.getDescription(), names.get(r.getId()));
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        return fresh;
+    }
+
+    /** 레시피 문서를 색인에 넣거나 교체한다. */
+    public void put(Long recipeId, String subject, String description, Collection<String> ingredientNames) {
+        if (recipeId == null) return;
+        lock.writeLock().lock();
+        try {
+            segment.remove(recipeId);
+            segment.add(recipeId, subject, description, ingredientNames);
+            if (pendingChanges != null) {
+                List<String> names = ingredientNames == null ? null : new ArrayList<>(ingredientNames);
+                pendingChanges.put(recipeId, new Change(false, subject, description, names));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        if (recipeId == null) return;
+        lock.writeLock().lock();
+        try {
+            segment.remove(recipeId);
+            if (pendingChanges != null) pendingChanges.put(recipeId, new Change(true, null, null, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- 검색 ---------------- */
+
+    /**
+     * BM25F 점수 내림차순(동점은 최신 ID 우선)으로 전체 결과를 정렬한 뒤 요청 페이지의 레시피 ID 만 돌려준다.
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        ensureLoaded();
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(KoreanBigramTokenizer.tokenize(query)));
+        if (terms.isEmpty()) return new PageImpl<>(List.of(), pageable, 0);
+        int minShouldMatch = (terms.size() + 1) / 2;
+
+        Map<Long, double[]> acc = new HashMap<>(); // [score, matchedTerms]
+        lock.readLock().lock();
+        try {
+            int n = segment.docs.size();
+            if (n == 0) return new PageImpl<>(List.of(), pageable, 0);
+            double[] avgLen = new double[FIELDS];
+            for (int f = 0; f < FIELDS; f++) avgLen[f] = Math.max(1.0, (double) segment.totalLengths[f] / n);
+
+            for (String term : terms) {
+                Map<Long, int[]> posting = segment.postings.get(term);
+                if (posting == null) continue;
+                int df = posting.size();
+                double idf = Math.log(1.0 + (n - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Long, int[]> e : posting.entrySet()) {
+                    int[] lengths = segment.docs.get(e.getKey()).lengths();
+                    int[] tf = e.getValue();
+                    double wtf = 0.0;
+                    for (int f = 0; f < FIELDS; f++) {
+                        if (tf[f] == 0) continue;
+                        wtf += WEIGHTS[f] * tf[f] / (1.0 - B[f] + B[f] * lengths[f] / avgLen[f]);
+                    }
+                    double[] a = acc.computeIfAbsent(e.getKey(), k -> new double[2]);
+                    a[0] += idf * wtf / (K1 + wtf);
+                    a[1] += 1;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 전체 정렬 대신 필요한 (offset + size) 개만 힙으로 유지
+        Comparator<Map.Entry<Long, double[]>> byRank = (x, y) -> {
+            int c = Double.compare(y.getValue()[0], x.getValue()[0]);
+            return (c != 0) ? c : Long.compare(y.getKey(), x.getKey());
+        };
+        long keep = pageable.getOffset() + pageable.getPageSize();
+        PriorityQueue<Map.Entry<Long, double[]>> top = new PriorityQueue<>(byRank.reversed());
+        long total = 0;
+        for (Map.Entry<Long, double[]> e : acc.entrySet()) {
+            if (e.getValue()[1] < minShouldMatch) continue;
+            total++;
+            top.offer(e);
+            if (top.size() > keep) top.poll();
+        }
+
+        List<Map.Entry<Long, double[]>> ranked = new ArrayList<>(top);
+        ranked.sort(byRank);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        List<Long> ids = ranked.subList(from, ranked.size()).stream().map(Map.Entry::getKey).toList();
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) rebuild();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.BMN.storage;
+
+import com.example.BMN.Database.MigrationMarkers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup migration that moves legacy image BLOB columns into the {@link BlobStore}.
+ *
+ * Recipe thumbnails and step images are served only from the blob store, so this runs by default
+ * until it has completed: once a pass leaves nothing to migrate it is recorded in {@link MigrationMarkers}
+ * and later startups skip it with one lookup. Rows that fail are retried on the next startup.
+ * Disable with `app.migrate.blobs-to-store=false`. Batch size is `app.migrate.blobs-batch-size` (default 50).
+ *
+ * Migration strategy:
+ * - Walk each table by primary key (keyset: `id > lastId ORDER BY id LIMIT n`) so memory stays bounded.
+ * - For each row whose legacy column is NOT NULL and key column IS NULL, write the bytes to the
+ *   blob store, set the key/size/content type columns and NULL the legacy column.
+ * - Schedule the resized variants for each migrated blob, as an upload would. Tasks dropped because
+ *   the variant queue is full are rescheduled when that width is first requested.
+ * - If the legacy column does not exist (fresh schema), the table is skipped.
+ *
+ * This runner uses plain SQL because the entities no longer map the legacy byte[] columns.
+ */
+@Component
+public class BlobMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobMigrationRunner.class);
+
+    private static final String MARKER = "blobs-to-store";
+
+    private final JdbcTemplate jdbc;
+    private final Environment env;
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+    private final MigrationMarkers markers;
+
+    public BlobMigrationRunner(JdbcTemplate jdbc, Environment env, BlobStore blobStore,
+                               ImageVariantService imageVariantService, MigrationMarkers markers) {
+        this.jdbc = jdbc;
+        this.env = env;
+        this.blobStore = blobStore;
+        this.imageVariantService = imageVariantService;
+        this.markers = markers;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        boolean enabled = Boolean.parseBoolean(env.getProperty("app.migrate.blobs-to-store", "true"));
+        if (!enabled) {
+            log.debug("BlobMigrationRunner disabled (app.migrate.blobs-to-store=false)");
+            return;
+        }
+        if (markers.isDone(MARKER)) {
+            log.debug("BlobMigrationRunner already completed");
+            return;
+        }
+        int batchSize = Integer.parseInt(env.getProperty("app.migrate.blobs-batch-size", "50"));
+
+        boolean complete = migrate("recipe", "thumbnail", "thumbnail_key", "thumbnail_size", "thumbnail_content_type", batchSize);
+        complete &= migrate("recipe_step_image", "image", "image_key", "image_size", "image_content_type", batchSize);
+        // image 테이블은 업로드 시 받은 content_type 을 그대로 둔다.
+        complete &= migrate("image", "data", "blob_key", "blob_size", null, batchSize);
+
+        if (complete) {
+            markers.markDone(MARKER);
+            log.info("BlobMigrationRunner completed");
+        }
+    }
+
+    /** @return 옮기지 못한 행 없이 끝났으면 true (레거시 컬럼이 없는 경우 포함) */
+    private boolean migrate(String table, String blobCol, String keyCol, String sizeCol, String typeCol, int batchSize) {
+        String select = "SELECT id, " + blobCol + " AS legacy_data FROM " + table
+                + " WHERE " + blobCol + " IS NOT NULL AND " + keyCol + " IS NULL AND id > ? ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table + " SET " + keyCol + " = ?, " + sizeCol + " = ?, "
+                + (typeCol != null ? typeCol + " = ?, " : "") + blobCol + " = NULL WHERE id = ?";
+
+        long lastId = 0L;
+        int migrated = 0;
+        int failed = 0;
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbc.queryForList(select, lastId, batchSize);
+                if (rows.isEmpty()) break;
+
+                for (Map<String, Object> r : rows) {
+                    long id = ((Number) r.get("id")).longValue();
+                    lastId = id;
+                    Object data = r.get("legacy_data");
+                    if (!(data instanceof byte[] bytes) || bytes.length == 0) continue;
+                    try {
+                        StoredBlob blob = blobStore.put(bytes, null);
+                        if (typeCol != null) jdbc.update(update, blob.key(), blob.size(), blob.contentType(), id);
+                        else jdbc.update(update, blob.key(), blob.size(), id);
+                        imageVariantService.schedule(blob.key());
+                        migrated++;
+                    } catch (Exception ex) {
+                        failed++;
+                        log.warn("Failed to migrate {}.{} id={}: {}", table, blobCol, id, ex.getMessage());
+                    }
+                }
+            }
+        } catch (BadSqlGrammarException ex) {
+            // 레거시 컬럼이 없는 새 스키마: 옮길 것이 없다.
+            log.debug("BlobMigrationRunner skipped {}.{}: {}", table, blobCol, ex.getMessage());
+            return true;
+        } catch (Exception ex) {
+            log.warn("BlobMigrationRunner stopped at {}.{} id>{}: {}", table, blobCol, lastId, ex.getMessage());
+            return false;
+        }
+        if (migrated > 0) log.info("Migrated {} rows of {}.{} into blob store", migrated, table, blobCol);
+        return failed == 0;
+    }
+}
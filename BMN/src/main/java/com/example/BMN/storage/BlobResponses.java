@@ -0,0 +1,107 @@
+package com.example.BMN.storage;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * BlobStore 파일을 HTTP 로 내려줄 때 쓰는 공통 응답 빌더
+ *
+ * - ETag: 콘텐츠 해시(키) 그대로 강한 ETag 로 사용 → If-None-Match 일치 시 304
+ * - Range: body 를 Resource 로 넘기면 Spring MVC 가 Range 헤더를 보고 206(ResourceRegion)으로 응답한다.
+ * - Cache-Control: URL 에 현재 키의 버전(?v=)이 붙어 있으면 내용이 바뀔 수 없으므로 1년 immutable,
+ *   버전 없이 요청하면(예: /recipe/thumbnail/{id}) 매번 ETag 로 재검증(no-cache)
+ *   폭 변형(?w=)이 아직 없어 원본을 대신 내려줄 때도 호출 측이 version 을 넘기지 않아 재검증으로 보낸다.
+ */
+public final class BlobResponses {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+    private static final int VERSION_LENGTH = 12;
+
+    private BlobResponses() {}
+
+    /** URL 캐시 버스터용 짧은 버전 문자열 (키 앞부분) */
+    public static String versionOf(String key) {
+        if (key == null) return null;
+        return key.length() <= VERSION_LENGTH ? key : key.substring(0, VERSION_LENGTH);
+    }
+
+    /** base URL 에 ?v=버전 을 붙인다. (키가 없으면 base 그대로) */
+    public static String versionedUrl(String base, String key) {
+        String v = versionOf(key);
+        return (v == null) ? base : base + "?v=" + v;
+    }
+
+    /** 폭 변형 URL (?v=버전&w=폭, 키가 없으면 ?w=폭 만) */
+    public static String variantUrl(String base, String key, int width) {
+        String v = versionOf(key);
+        return (v == null) ? base + "?w=" + width : base + "?v=" + v + "&w=" + width;
+    }
+
+    public static ResponseEntity<Resource> serve(BlobStore store, StoredBlob blob, String version, String ifNoneMatch) {
+        return serve(store, blob, version, ifNoneMatch, null);
+    }
+
+    /**
+     * @param version     요청 URL 의 v 파라미터 (없으면 null)
+     * @param ifNoneMatch 요청 If-None-Match 헤더 (없으면 null)
+     * @param filename    지정하면 Content-Disposition: attachment 로 내려준다.
+     */
+    public static ResponseEntity<Resource> serve(BlobStore store, StoredBlob blob, String version,
+                                                 String ifNoneMatch, String filename) {
+        if (blob == null || blob.key() == null) return ResponseEntity.notFound().build();
+
+        String etag = "\"" + blob.key() + "\"";
+        String cacheControl = (version != null && version.equals(versionOf(blob.key()))) ? IMMUTABLE : REVALIDATE;
+
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+
+        Resource file = store.get(blob.key()).orElse(null);
+        if (file == null) return ResponseEntity.notFound().build();
+
+        MediaType type;
+        try {
+            type = (blob.contentType() != null) ? MediaType.parseMediaType(blob.contentType()) : MediaType.IMAGE_JPEG;
+        } catch (Exception e) {
+            type = MediaType.APPLICATION_OCTET_STREAM;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(type);
+        headers.setETag(etag);
+        headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        try {
+            headers.setLastModified(Instant.ofEpochMilli(file.lastModified()));
+        } catch (IOException ignored) {}
+        if (filename != null) {
+            headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        }
+        // Content-Length/Range 처리는 Resource 메시지 컨버터가 한다. (Range 요청이면 206 + 부분 길이)
+        return ResponseEntity.ok().headers(headers).body(file);
+    }
+
+    /** If-None-Match 목록 중 하나라도 일치하면 true (약한 비교: W/ 접두어 무시) */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.BMN.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.util.Optional;
+
+/**
+ * 이미지 등 바이너리를 DB 밖에 저장하는 저장소 추상화
+ *
+ * - 키는 콘텐츠 해시이므로 같은 파일은 한 번만 저장된다. (같은 키 = 같은 내용)
+ * - 기본 구현은 로컬 파일시스템({@link LocalFileBlobStore}). S3 등으로 바꿀 때는 이 인터페이스만 구현하면 된다.
+ */
+public interface BlobStore {
+
+    /** 바이트를 저장하고 키/크기/타입을 돌려준다. contentType 이 없으면 내용으로 추정한다. */
+    StoredBlob put(byte[] data, String contentType) throws IOException;
+
+    /**
+     * 원본에서 파생된 파일(예: 리사이즈 변형)을 지정한 키로 저장한다.
+     * 키 형식: {원본키}-{접미사} (예: ab12...-w480)
+     */
+    StoredBlob putDerived(String key, byte[] data, String contentType) throws IOException;
+
+    /** 키에 해당하는 파일 (없으면 empty) */
+    Optional<Resource> get(String key);
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+
+    /** 선언된 타입이 이미지가 아니면 매직 넘버로 추정, 그래도 모르면 image/jpeg */
+    static String detectContentType(byte[] data, String declared) {
+        if (declared != null && declared.startsWith("image/")) return declared;
+        try {
+            String guessed = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(data));
+            if (guessed != null) return guessed;
+        } catch (IOException ignored) {}
+        return "image/jpeg";
+    }
+}
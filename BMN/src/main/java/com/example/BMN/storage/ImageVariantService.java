@@ -0,0 +1,301 @@
+package com.example.BMN.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 이미지의 고정 폭 변형(썸네일) 생성기
+ *
+ * - 원본을 한 번만 디코딩해서 160 / 480 / 1080px 폭 JPEG 변형을 만든다.
+ *   (원본보다 넓은 변형은 원본 폭으로 재인코딩만 한다)
+ * - 재인코딩하므로 EXIF 등 메타데이터는 남지 않는다. 방향(Orientation) 태그는 먼저 픽셀에 반영한다.
+ * - 투명 배경(PNG 등)은 흰색으로 채운다. (JPEG 은 알파 채널 없음)
+ * - 변형 키: {원본키}-w{폭} → BlobStore 의 원본과 같은 디렉터리에 저장
+ *
+ * 인코딩은 작은 전용 스레드풀에서 하므로 업로드 요청은 기다리지 않는다.
+ * 큐가 가득 차면 작업을 버리고, 해당 변형은 처음 요청될 때 다시 예약된다. (그 사이에는 원본을 내려준다)
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    public static final int[] WIDTHS = {160, 480, 1080};
+    /** 목록 카드 썸네일 폭 (카드 CSS 폭의 약 2배, 고밀도 화면 기준) */
+    public static final int CARD_WIDTH = 480;
+    /** 상세 화면 본문 이미지 폭 */
+    public static final int DETAIL_WIDTH = 1080;
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final String JPEG = "image/jpeg";
+
+    private final BlobStore blobStore;
+    private final ThreadPoolExecutor executor;
+
+    // 같은 원본에 대한 중복 예약 방지
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // 디코딩할 수 없는 원본 (요청마다 다시 시도하지 않도록, 크기 제한)
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+    private static final int UNDECODABLE_MAX = 10_000;
+
+    public ImageVariantService(BlobStore blobStore,
+                               @Value("${app.image.variant-threads:2}") int threads,
+                               @Value("${app.image.variant-queue:200}") int queueCapacity) {
+        this.blobStore = blobStore;
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, ex) -> {
+                    // 예외로 알려야 schedule 이 inFlight 에서 키를 지운다. (다음 요청 때 다시 예약)
+                    log.warn("Image variant queue full; task dropped (will be retried on demand)");
+                    throw new RejectedExecutionException("image variant queue full");
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public static String variantKey(String originalKey, int width) {
+        return originalKey + "-w" + width;
+    }
+
+    /** 원본 키의 모든 변형 생성을 예약한다. (업로드 직후 호출) */
+    public void schedule(String originalKey) {
+        if (originalKey == null || undecodable.contains(originalKey)) return;
+        if (!inFlight.add(originalKey)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(originalKey);
+                } finally {
+                    inFlight.remove(originalKey);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(originalKey);
+        }
+    }
+
+    /**
+     * 요청 폭(w)에 맞는 변형을 고른다.
+     * - w 가 없거나 가장 큰 변형보다 크면 원본
+     * - 변형이 아직 없으면 생성을 예약하고 이번에는 원본
+     */
+    public StoredBlob resolve(StoredBlob original, Integer requestedWidth) {
+        if (original == null || original.key() == null) return original;
+        Integer width = variantWidthFor(requestedWidth);
+        if (width == null) return original;
+
+        String key = variantKey(original.key(), width);
+        Optional<Resource> variant = blobStore.get(key);
+        if (variant.isPresent()) {
+            Long size = null;
+            try { size = variant.get().contentLength(); } catch (IOException ignored) {}
+            return new StoredBlob(key, size, JPEG);
+        }
+        schedule(original.key());
+        return original;
+    }
+
+    /**
+     * resolve 결과가 요청한 변형 대신 임시로 내려주는 원본인지.
+     * 이 응답은 ?w= URL 에 immutable 로 캐시되면 안 된다. (변형이 생긴 뒤에도 원본이 계속 쓰임)
+     */
+    public static boolean isPending(StoredBlob resolved, Integer requestedWidth) {
+        Integer width = variantWidthFor(requestedWidth);
+        return width != null && resolved != null && resolved.key() != null
+                && !resolved.key().endsWith("-w" + width);
+    }
+
+    /** 요청 폭을 덮는 가장 작은 변형 폭 (없거나 원본을 내려줄 경우 null) */
+    private static Integer variantWidthFor(Integer requestedWidth) {
+        if (requestedWidth == null || requestedWidth <= 0) return null;
+        for (int w : WIDTHS) {
+            if (w >= requestedWidth) return w;
+        }
+        return null;
+    }
+
+    /* ---------------- 생성 ---------------- */
+
+    void generate(String originalKey) {
+        Resource src = blobStore.get(originalKey).orElse(null);
+        if (src == null) return;
+
+        byte[] bytes;
+        try (InputStream in = src.getInputStream()) {
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            // 일시적인 읽기 실패: 다음 요청 때 다시 시도
+            log.warn("Image variant source read failed for {}: {}", originalKey, e.getMessage());
+            return;
+        }
+
+        // 디코딩 실패만 영구 실패로 기록한다.
+        BufferedImage image;
+        try {
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+            if (decoded == null) {
+                markUndecodable(originalKey);
+                return;
+            }
+            image = applyOrientation(decoded, readExifOrientation(bytes));
+        } catch (Exception e) {
+            log.warn("Image decode failed for {}: {}", originalKey, e.getMessage());
+            markUndecodable(originalKey);
+            return;
+        }
+
+        try {
+            for (int width : WIDTHS) {
+                String key = variantKey(originalKey, width);
+                if (blobStore.exists(key)) continue;
+                BufferedImage scaled = scaleToWidth(image, Math.min(width, image.getWidth()));
+                blobStore.putDerived(key, encodeJpeg(scaled), JPEG);
+            }
+        } catch (Exception e) {
+            // 인코딩/저장 실패: 다음 요청 때 다시 시도
+            log.warn("Image variant generation failed for {}: {}", originalKey, e.getMessage());
+        }
+    }
+
+    private void markUndecodable(String key) {
+        if (undecodable.size() >= UNDECODABLE_MAX) undecodable.clear();
+        undecodable.add(key);
+    }
+
+    /** 폭 기준 비율 유지 축소 + 흰 배경 합성 (RGB) */
+    private static BufferedImage scaleToWidth(BufferedImage src, int width) {
+        int height = Math.max(1, (int) Math.round((double) src.getHeight() * width / src.getWidth()));
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) throw new IOException("no JPEG writer");
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            // 메타데이터 없이 픽셀만 기록 → EXIF 제거
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+
+    /* ---------------- EXIF Orientation ---------------- */
+
+    /** JPEG APP1(Exif) 의 Orientation(0x0112) 값. 없거나 JPEG 이 아니면 1 */
+    static int readExifOrientation(byte[] b) {
+        if (b.length < 4 || (b[0] & 0xFF) != 0xFF || (b[1] & 0xFF) != 0xD8) return 1;
+        int pos = 2;
+        while (pos + 4 <= b.length && (b[pos] & 0xFF) == 0xFF) {
+            int marker = b[pos + 1] & 0xFF;
+            int len = ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+            if (marker == 0xDA || len < 2) break; // 이미지 데이터 시작
+            int seg = pos + 4;
+            if (marker == 0xE1 && seg + 14 <= b.length
+                    && b[seg] == 'E' && b[seg + 1] == 'x' && b[seg + 2] == 'i' && b[seg + 3] == 'f') {
+                int tiff = seg + 6;
+                boolean le = b[tiff] == 'I';
+                int ifd = tiff + readInt(b, tiff + 4, le);
+                if (ifd + 2 > b.length) return 1;
+                int entries = readShort(b, ifd, le);
+                for (int i = 0; i < entries; i++) {
+                    int e = ifd + 2 + i * 12;
+                    if (e + 12 > b.length) break;
+                    if (readShort(b, e, le) == 0x0112) return readShort(b, e + 8, le);
+                }
+                return 1;
+            }
+            pos += 2 + len;
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] b, int p, boolean le) {
+        return le ? ((b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8)
+                  : ((b[p] & 0xFF) << 8 | (b[p + 1] & 0xFF));
+    }
+
+    private static int readInt(byte[] b, int p, boolean le) {
+        return le ? ((b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8 | (b[p + 2] & 0xFF) << 16 | (b[p + 3] & 0xFF) << 24)
+                  : ((b[p] & 0xFF) << 24 | (b[p + 1] & 0xFF) << 16 | (b[p + 2] & 0xFF) << 8 | (b[p + 3] & 0xFF));
+    }
+
+    /** Orientation 값(1~8)에 맞게 회전/반전한 이미지 */
+    private static BufferedImage applyOrientation(BufferedImage src, int orientation) {
+        if (orientation <= 1 || orientation > 8) return src;
+        int w = src.getWidth(), h = src.getHeight();
+        boolean swap = orientation >= 5;
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { t.translate(w, 0); t.scale(-1, 1); }
+            case 3 -> { t.translate(w, h); t.rotate(Math.PI); }
+            case 4 -> { t.translate(0, h); t.scale(1, -1); }
+            case 5 -> { t.rotate(-Math.PI / 2); t.scale(-1, 1); }
+            case 6 -> { t.translate(h, 0); t.rotate(Math.PI / 2); }
+            case 7 -> { t.scale(-1, 1); t.translate(-h, 0); t.translate(0, w); t.rotate(3 * Math.PI / 2); }
+            case 8 -> { t.translate(0, w); t.rotate(3 * Math.PI / 2); }
+            default -> { return src; }
+        }
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.drawImage(src, t, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.BMN.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일시스템 BlobStore
+ *
+ * 경로: {root}/{key[0..2]}/{key[2..4]}/{key}
+ * (SHA-256 앞 두 바이트로 디렉터리를 나눠 한 디렉터리에 파일이 몰리지 않게 한다. 파생 파일은 원본과 같은 디렉터리)
+ *
+ * 쓰기는 임시 파일에 쓴 뒤 원자적으로 이동하므로, 읽는 쪽은 완성된 파일만 보게 된다.
+ */
+@Slf4j
+@Component
+public class LocalFileBlobStore implements BlobStore {
+
+    // 원본: sha256 hex, 파생: sha256 hex + "-" + 접미사
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}(-[a-z0-9]{1,16})?");
+
+    private final Path root;
+
+    public LocalFileBlobStore(@Value("${app.blob.root:./data/blobs}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        Files.createDirectories(this.root);
+        log.info("LocalFileBlobStore root={}", this.root);
+    }
+
+    @Override
+    public StoredBlob put(byte[] data, String contentType) throws IOException {
+        if (data == null) throw new IllegalArgumentException("data is null");
+        String key = sha256Hex(data);
+        write(key, data);
+        return new StoredBlob(key, (long) data.length, BlobStore.detectContentType(data, contentType));
+    }
+
+    @Override
+    public StoredBlob putDerived(String key, byte[] data, String contentType) throws IOException {
+        if (data == null) throw new IllegalArgumentException("data is null");
+        if (!isValidKey(key)) throw new IllegalArgumentException("invalid blob key: " + key);
+        write(key, data);
+        return new StoredBlob(key, (long) data.length, BlobStore.detectContentType(data, contentType));
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        if (!isValidKey(key)) return Optional.empty();
+        Path p = pathOf(key);
+        return Files.isRegularFile(p) ? Optional.of(new FileSystemResource(p)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isValidKey(key) && Files.isRegularFile(pathOf(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (!isValidKey(key)) return;
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    private void write(String key, byte[] data) throws IOException {
+        Path target = pathOf(key);
+        if (Files.exists(target)) return;
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            Files.write(tmp, data);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 동시에 같은 내용이 저장된 경우: 이미 있는 파일을 그대로 쓴다.
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
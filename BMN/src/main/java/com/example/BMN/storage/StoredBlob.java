@@ -0,0 +1,11 @@
+package com.example.BMN.storage;
+
+/**
+ * BlobStore 에 저장된 파일의 메타데이터 (엔티티에는 이 값만 남긴다)
+ *
+ * @param key         콘텐츠 SHA-256 (hex)
+ * @param size        바이트 수
+ * @param contentType MIME 타입 (예: image/jpeg)
+ */
+public record StoredBlob(String key, Long size, String contentType) {
+}
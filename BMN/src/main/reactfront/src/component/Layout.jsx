@@ -76,29 +76,59 @@ const Layout = () => {
         return t ? { Authorization: `Bearer ${t}` } : {};
     }, []);
 
-    // 알림이 1개라도 있으면 badge
-    const signatureFromList = useCallback((list) => {
-        return Array.isArray(list) && list.length > 0 ? "has" : "";
+    // 읽지 않은 알림이 있으면 badge (개수가 바뀌면 다시 표시)
+    const signatureFromCount = useCallback((count) => {
+        return typeof count === "number" && count > 0 ? String(count) : "";
     }, []);
 
+    const applyUnreadCount = useCallback((count) => {
+        const sig = signatureFromCount(count);
+        const seen = localStorage.getItem("notificationsSignatureSeen") || "";
+        setNotificationSignature(sig);
+        setUnreadNotifications(sig !== "" && sig !== seen);
+    }, [signatureFromCount]);
+
     const fetchNotificationPreview = useCallback(async () => {
         if (!authed) return;
         try {
-            const { data } = await axios.get("/notifications", { headers: authHeaders() });
-            const list = Array.isArray(data) ? data : [];
-            const sig = signatureFromList(list);
-            const seen = localStorage.getItem("notificationsSignatureSeen") || "";
-            setNotificationSignature(sig);
-            setUnreadNotifications(sig !== "" && sig !== seen);
+            const { data } = await axios.get("/notifications/unread-count", { headers: authHeaders() });
+            applyUnreadCount(data?.unreadCount);
         } catch {
             // ignore; badge remains unchanged
         }
-    }, [authed, authHeaders, signatureFromList]);
+    }, [authed, authHeaders, applyUnreadCount]);
 
     useEffect(() => {
         fetchNotificationPreview();
     }, [fetchNotificationPreview]);
 
+    // 새 알림/읽음 변경은 SSE 로 받는다 (채팅 스트림의 notification, unread-count 이벤트)
+    useEffect(() => {
+        if (!authed || typeof EventSource === "undefined") return undefined;
+        const token = localStorage.getItem(TOKEN_KEY);
+        const urlBase = (API_BASE || "").replace(/\/$/, "");
+        const streamUrl = `${urlBase}/chat/stream${token ? `?token=${encodeURIComponent(token)}` : ""}`;
+        let es;
+        const onUnread = (evt) => {
+            try {
+                const payload = JSON.parse(evt.data || "{}");
+                applyUnreadCount(payload.unreadCount);
+            } catch {
+                // ignore malformed event
+            }
+        };
+        try {
+            es = new EventSource(streamUrl, { withCredentials: true });
+            es.addEventListener("notification", onUnread);
+            es.addEventListener("unread-count", onUnread);
+        } catch {
+            // SSE unavailable; badge falls back to focus-time refresh
+        }
+        return () => {
+            if (es) es.close();
+        };
+    }, [authed, applyUnreadCount]);
+
     // 창 복귀 시 알림 상태를 다시 조회해 배지 반영
     useEffect(() => {
         const onVisibility = () => {
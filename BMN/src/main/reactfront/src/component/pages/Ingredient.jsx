@@ -143,25 +143,46 @@ const Ingredient = () => {
             setErr(null);
             setDebug(null);
             try {
-                const res = await fetch(`${apiBase}/api/price/compare`, {
+                // 재료별 결과가 끝나는 대로 한 줄씩 도착(NDJSON) → 도착한 재료부터 바로 표시
+                const res = await fetch(`${apiBase}/api/price/compare/stream`, {
                     method: 'POST',
-                    headers: { 'Content-Type': 'application/json' },
+                    headers: { 'Content-Type': 'application/json', Accept: 'application/x-ndjson' },
                     body: JSON.stringify({
                         ingredients: ingredientNames,
                         perIngredient: 5,
                         excludeUsed: true
                     })
                 });
-                const txt = await res.text();
                 if (!res.ok) {
+                    const txt = await res.text();
                     if (!abort) {
                         setErr(`가격 조회 실패: HTTP ${res.status}`);
                         setDebug(txt);
                     }
                     return;
                 }
-                const json = JSON.parse(txt);
-                if (!abort) setPriceMap(json);
+                if (!abort) setPriceMap({});
+                const applyLine = (line) => {
+                    if (!line.trim() || abort) return;
+                    const row = JSON.parse(line);
+                    setPriceMap(prev => ({ ...(prev || {}), [row.keyword]: row.items || [] }));
+                };
+                if (res.body && res.body.getReader) {
+                    const reader = res.body.getReader();
+                    const decoder = new TextDecoder();
+                    let buf = '';
+                    for (;;) {
+                        const { done, value } = await reader.read();
+                        if (done || abort) break;
+                        buf += decoder.decode(value, { stream: true });
+                        const lines = buf.split('\n');
+                        buf = lines.pop();
+                        lines.forEach(applyLine);
+                    }
+                    applyLine(buf);
+                } else {
+                    (await res.text()).split('\n').forEach(applyLine);
+                }
             } catch (e) {
                 if (!abort) setErr(`네트워크 오류: ${e.message}`);
             } finally {
@@ -449,7 +470,8 @@ const Ingredient = () => {
 
                     {/* 우측: 선택 재료의 링크/검색 결과 */}
                     <div className="ingredient-link sx-11">
-                        {loading && <p>네이버 쇼핑에서 가격을 불러오는 중…</p>}
+                        {/* 스트림으로 선택 재료 결과가 먼저 도착하면 나머지를 기다리지 않고 바로 표시 */}
+                        {loading && !(matchedKey && priceMap?.[matchedKey]) && <p>네이버 쇼핑에서 가격을 불러오는 중…</p>}
                         {err && (
                             <div >
                                 <p>{err}</p>
@@ -462,7 +484,7 @@ const Ingredient = () => {
                             </div>
                         )}
 
-                        {!loading && !err && (
+                        {!err && (!loading || (matchedKey && priceMap?.[matchedKey])) && (
                             <>
                                 {selectedName ? (
                                     <div>
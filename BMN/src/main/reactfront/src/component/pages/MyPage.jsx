@@ -10,6 +10,7 @@ import "./RecipeCards.css";
 axios.defaults.baseURL = API_BASE;
 
 const TOKEN_KEY = "token";
+const RECIPE_PAGE_SIZE = 24; // 작성한 레시피 커서 페이지 크기
 
 /* ================= JWT / AUTH UTILS ================= */
 function b64urlDecode(str) {
@@ -72,12 +73,17 @@ const round1 = (val) => {
     return Math.round(n * 10) / 10;
 };
 
-const thumbUrl = (r) => r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}` : "");
+// 카드에는 축소본(thumbnailCardUrl, 480px)을 쓴다.
+const thumbUrl = (r) =>
+    r?.thumbnailCardUrl || r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}?w=480` : "");
 
 const MyPage = () => {
     const nav = useNavigate();
     const [tab, setTab] = useState("my");
     const [myRecipes, setMyRecipes] = useState([]);
+    const [myNext, setMyNext] = useState(null); // 다음 페이지 커서 (없으면 끝)
+    const [myTotal, setMyTotal] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [favRecipes, setFavRecipes] = useState([]);
     const [loading, setLoading] = useState(false);
 
@@ -119,9 +125,17 @@ const MyPage = () => {
         })();
     }, []);
 
-    const fetchMyRecipes = useCallback(async () => {
-        const { data } = await axios.get("/user/profile/me/recipes", { headers: authHeaders() });
-        return Array.isArray(data) ? data : [];
+    // 커서 페이지: after 가 "" 이면 첫 페이지 (첫 페이지에서만 전체 개수 요청)
+    const fetchMyRecipes = useCallback(async (after = "") => {
+        const { data } = await axios.get("/user/profile/me/recipes", {
+            headers: authHeaders(),
+            params: { after, size: RECIPE_PAGE_SIZE, count: after === "" },
+        });
+        return {
+            content: Array.isArray(data?.content) ? data.content : [],
+            next: data?.next ?? null,
+            total: data?.total ?? null,
+        };
     }, []);
     const fetchFavRecipes = useCallback(async () => {
         const { data } = await axios.get("/user/profile/me/favorites", { headers: authHeaders() });
@@ -136,7 +150,9 @@ const MyPage = () => {
                     fetchMyRecipes(),
                     fetchFavRecipes(),
                 ]);
-                setMyRecipes(my);
+                setMyRecipes(my.content);
+                setMyNext(my.next);
+                setMyTotal(my.total);
                 setFavRecipes(fav);
             } catch (e) {
                 console.error(e);
@@ -147,6 +163,21 @@ const MyPage = () => {
         })();
     }, [fetchMyRecipes, fetchFavRecipes]);
 
+    const loadMoreMine = async () => {
+        if (!myNext || loadingMore) return;
+        setLoadingMore(true);
+        try {
+            const page = await fetchMyRecipes(myNext);
+            setMyRecipes((prev) => [...prev, ...page.content]);
+            setMyNext(page.next);
+        } catch (e) {
+            console.error(e);
+            alert("레시피를 더 불러오지 못했습니다.");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const activeList = tab === "my" ? myRecipes : favRecipes;
     const hasItems = Array.isArray(activeList) && activeList.length > 0;
 
@@ -278,7 +309,7 @@ const MyPage = () => {
                         }}
                         aria-pressed={tab === "my"}
                     >
-                        내가 작성한 레시피 ({myRecipes.length})
+                        내가 작성한 레시피 ({myTotal ?? myRecipes.length})
                     </button>
                     <button
                         type="button"
@@ -307,15 +338,24 @@ const MyPage = () => {
                     {tab === "my" ? "작성한 레시피가 없습니다." : "즐겨찾기한 레시피가 없습니다."}
                 </p>
             ) : (
-                <div className="recipe-list">
-                    {activeList.map((r) => (
-                        <Card
-                            key={r.id}
-                            r={r}
-                            overrideAuthor={tab === "my" ? (profile.username || profile.nickname) : undefined}
-                        />
-                    ))}
-                </div>
+                <>
+                    <div className="recipe-list">
+                        {activeList.map((r) => (
+                            <Card
+                                key={r.id}
+                                r={r}
+                                overrideAuthor={tab === "my" ? (profile.username || profile.nickname) : undefined}
+                            />
+                        ))}
+                    </div>
+                    {tab === "my" && myNext && (
+                        <div className="load-more-wrap">
+                            <button type="button" className="load-more-button" onClick={loadMoreMine} disabled={loadingMore}>
+                                {loadingMore ? "불러오는 중..." : "더보기"}
+                            </button>
+                        </div>
+                    )}
+                </>
             )}
         </div>
     );
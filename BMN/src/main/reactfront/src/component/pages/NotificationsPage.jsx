@@ -8,6 +8,7 @@ import "./ProfilePage.css";
 axios.defaults.baseURL = API_BASE;
 
 const TOKEN_KEY = "token";
+const PAGE_SIZE = 30; // 알림 커서 페이지 크기
 function authHeaders() {
     const t = localStorage.getItem(TOKEN_KEY);
     return t ? { Authorization: `Bearer ${t}` } : {};
@@ -22,6 +23,8 @@ const NotificationsPage = () => {
     const nav = useNavigate();
     const [loading, setLoading] = useState(false);
     const [items, setItems] = useState([]);
+    const [next, setNext] = useState(null); // 다음 페이지 커서 (없으면 끝)
+    const [loadingMore, setLoadingMore] = useState(false);
     const [message, setMessage] = useState("");
     // opponentId → 프로필 정보
     const [profileMap, setProfileMap] = useState({});
@@ -30,8 +33,12 @@ const NotificationsPage = () => {
         setLoading(true);
         setMessage("");
         try {
-            const { data } = await axios.get("/notifications", { headers: authHeaders() });
-            setItems(Array.isArray(data) ? data : []);
+            const { data } = await axios.get("/notifications", {
+                headers: authHeaders(),
+                params: { after: "", size: PAGE_SIZE },
+            });
+            setItems(Array.isArray(data?.content) ? data.content : []);
+            setNext(data?.next ?? null);
         } catch (err) {
             if (err?.response?.status === 401) {
                 alert("로그인이 필요합니다.");
@@ -48,6 +55,25 @@ const NotificationsPage = () => {
         fetchNotifications();
     }, [fetchNotifications]);
 
+    // 더 과거 알림 (커서 다음 페이지)
+    const loadMore = async () => {
+        if (!next || loadingMore) return;
+        setLoadingMore(true);
+        try {
+            const { data } = await axios.get("/notifications", {
+                headers: authHeaders(),
+                params: { after: next, size: PAGE_SIZE },
+            });
+            const more = Array.isArray(data?.content) ? data.content : [];
+            setItems((prev) => [...prev, ...more.filter((m) => !prev.some((p) => p.id === m.id))]);
+            setNext(data?.next ?? null);
+        } catch (err) {
+            alert("알림을 더 불러오지 못했습니다.");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     // 모든 알림의 opponentId 프로필을 한 번에 fetch
     useEffect(() => {
         const ids = items.map(n => n.opponentId).filter(id => id && !(id in profileMap));
@@ -156,6 +182,13 @@ const NotificationsPage = () => {
                     })}
                 </div>
             )}
+            {!loading && next && (
+                <div className="notifications-more">
+                    <button className="btn-reject" onClick={loadMore} disabled={loadingMore}>
+                        {loadingMore ? "불러오는 중..." : "이전 알림 더보기"}
+                    </button>
+                </div>
+            )}
         </div>
     );
 }
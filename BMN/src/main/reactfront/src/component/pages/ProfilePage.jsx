@@ -10,6 +10,7 @@ import "./RecipeCards.css";
 axios.defaults.baseURL = API_BASE;
 
 const TOKEN_KEY = "token";
+const RECIPE_PAGE_SIZE = 24; // 작성한 레시피 커서 페이지 크기
 
 /* ================= JWT / AUTH UTILS ================= */
 function b64urlDecode(str) {
@@ -72,7 +73,9 @@ const round1 = (val) => {
     return Math.round(n * 10) / 10;
 };
 
-const thumbUrl = (r) => r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}` : "");
+// 카드에는 축소본(thumbnailCardUrl, 480px)을 쓴다.
+const thumbUrl = (r) =>
+    r?.thumbnailCardUrl || r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}?w=480` : "");
 
 const ProfilePage = () => {
     const { username } = useParams();
@@ -93,6 +96,9 @@ const ProfilePage = () => {
     });
     const [loading, setLoading] = useState(false);
     const [myRecipes, setMyRecipes] = useState([]);
+    const [myNext, setMyNext] = useState(null); // 다음 페이지 커서 (없으면 끝)
+    const [myTotal, setMyTotal] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [favRecipes, setFavRecipes] = useState([]);
 
     const myName = usernameFromToken();
@@ -170,9 +176,16 @@ const ProfilePage = () => {
         }
     };
 
-    const fetchUserRecipes = useCallback(async () => {
-        const { data } = await axios.get(`/user/profile/${encodeURIComponent(username)}/recipes`);
-        return Array.isArray(data) ? data : [];
+    // 커서 페이지: after 가 "" 이면 첫 페이지 (첫 페이지에서만 전체 개수 요청)
+    const fetchUserRecipes = useCallback(async (after = "") => {
+        const { data } = await axios.get(`/user/profile/${encodeURIComponent(username)}/recipes`, {
+            params: { after, size: RECIPE_PAGE_SIZE, count: after === "" },
+        });
+        return {
+            content: Array.isArray(data?.content) ? data.content : [],
+            next: data?.next ?? null,
+            total: data?.total ?? null,
+        };
     }, [username]);
     const fetchUserFavorites = useCallback(async () => {
         const { data } = await axios.get(`/user/profile/${encodeURIComponent(username)}/favorites`);
@@ -187,7 +200,9 @@ const ProfilePage = () => {
                     fetchUserRecipes(),
                     fetchUserFavorites(),
                 ]);
-                setMyRecipes(user);
+                setMyRecipes(user.content);
+                setMyNext(user.next);
+                setMyTotal(user.total);
                 setFavRecipes(favs);
             } finally {
                 setLoading(false);
@@ -195,6 +210,21 @@ const ProfilePage = () => {
         })();
     }, [fetchUserRecipes, fetchUserFavorites]);
 
+    const loadMoreRecipes = async () => {
+        if (!myNext || loadingMore) return;
+        setLoadingMore(true);
+        try {
+            const page = await fetchUserRecipes(myNext);
+            setMyRecipes((prev) => [...prev, ...page.content]);
+            setMyNext(page.next);
+        } catch (e) {
+            console.error(e);
+            alert("레시피를 더 불러오지 못했습니다.");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const activeList = tab === "my" ? myRecipes : favRecipes;
 
     const initials = useMemo(() => {
@@ -321,7 +351,7 @@ const ProfilePage = () => {
                                 color: tab === "my" ? "#fff" : "#111827",
                             }}
                         >
-                            작성한 레시피 ({myRecipes.length})
+                            작성한 레시피 ({myTotal ?? myRecipes.length})
                         </button>
                         <button
                             type="button"
@@ -348,15 +378,24 @@ const ProfilePage = () => {
             ) : !activeList?.length ? (
                 <p>표시할 레시피가 없습니다.</p>
             ) : (
-                <div className="recipe-list">
-                    {activeList.map((r) => (
-                        <Card
-                            key={r.id}
-                            r={r}
-                            overrideAuthor={tab === "my" ? (profile.username || profile.nickname) : undefined}
-                        />
-                    ))}
-                </div>
+                <>
+                    <div className="recipe-list">
+                        {activeList.map((r) => (
+                            <Card
+                                key={r.id}
+                                r={r}
+                                overrideAuthor={tab === "my" ? (profile.username || profile.nickname) : undefined}
+                            />
+                        ))}
+                    </div>
+                    {tab === "my" && myNext && (
+                        <div className="load-more-wrap">
+                            <button type="button" className="load-more-button" onClick={loadMoreRecipes} disabled={loadingMore}>
+                                {loadingMore ? "불러오는 중..." : "더보기"}
+                            </button>
+                        </div>
+                    )}
+                </>
             )}
         </div>
     );
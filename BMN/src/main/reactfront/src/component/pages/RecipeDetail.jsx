@@ -558,6 +558,7 @@ export default function RecipeDetail() {
                             const s = steps[currentStepIndex];
                             const order = s?.stepOrder ?? s?.stepIndex ?? currentStepIndex + 1;
                             const src =
+                                s?.imageDetailUrl ||
                                 s?.imageUrl ||
                                 (s?.imageBase64 ? `data:image/jpeg;base64,${s.imageBase64}` : undefined);
                             const videoUrl = s?.videoUrl;
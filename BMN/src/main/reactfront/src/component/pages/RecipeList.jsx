@@ -46,8 +46,9 @@ const round1 = (val) => {
     return Math.round(n * 10) / 10;
 };
 
+// 카드에는 축소본(thumbnailCardUrl, 480px)을 쓴다.
 const thumbUrl = (r) =>
-    r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}` : "");
+    r?.thumbnailCardUrl || r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}?w=480` : "");
 
 export default function RecipesList() {
     const navigate = useNavigate();
@@ -47,7 +47,9 @@ const round1 = (val) => {
     return Math.round(n * 10) / 10;
 };
 
-const thumbUrl = (r) => r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}` : "");
+// 카드에는 축소본(thumbnailCardUrl, 480px)을 쓴다.
+const thumbUrl = (r) =>
+    r?.thumbnailCardUrl || r?.thumbnailUrl || (r?.id ? `/recipe/thumbnail/${r.id}?w=480` : "");
 
 const RecipeMain = () => {
     const navigate = useNavigate();
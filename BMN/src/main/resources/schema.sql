@@ -38,3 +38,63 @@ CREATE TABLE IF NOT EXISTS pending_email_change (
     created_at TIMESTAMP NOT NULL,
     expires_at TIMESTAMP NOT NULL
 );
+
+-- Recipe images live in the blob store; only key/size/content type are kept in the row
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS thumbnail_key VARCHAR(64);
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS thumbnail_size BIGINT;
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS thumbnail_content_type VARCHAR(100);
+ALTER TABLE recipe_step_image ADD COLUMN IF NOT EXISTS image_key VARCHAR(64);
+ALTER TABLE recipe_step_image ADD COLUMN IF NOT EXISTS image_size BIGINT;
+ALTER TABLE recipe_step_image ADD COLUMN IF NOT EXISTS image_content_type VARCHAR(100);
+-- Uploaded images (/api/images) also live in the blob store; the legacy data column becomes optional
+ALTER TABLE image ADD COLUMN IF NOT EXISTS blob_key VARCHAR(64);
+ALTER TABLE image ADD COLUMN IF NOT EXISTS blob_size BIGINT;
+ALTER TABLE image ALTER COLUMN data SET NULL;
+-- Precomputed trending score (TrendingScoreJob) and its dirty flag
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS trending_score DOUBLE;
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS trending_dirty BOOLEAN;
+CREATE INDEX IF NOT EXISTS idx_recipe_trending ON recipe (trending_score, id);
+-- Rating sum for incremental average (RatingReconciliationJob fills existing rows)
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS rating_sum BIGINT;
+-- Keyset pagination indexes
+CREATE INDEX IF NOT EXISTS idx_comments_recipe_time ON comments (recipe_id, created_at, id);
+DROP INDEX IF EXISTS idx_chat_sender_receiver_time;
+CREATE INDEX IF NOT EXISTS idx_chat_pair_time_id ON chat_message (sender_id, receiver_id, created_at, id);
+-- Author recipe lists page on (author_id, create_date, id); RecipeCreateDateBackfillRunner fills legacy NULL dates
+CREATE INDEX IF NOT EXISTS idx_recipe_author_date ON recipe (author_id, create_date, id);
+-- Unread notification counter (null = not initialised yet, filled by COUNT on first read)
+ALTER TABLE site_user ADD COLUMN IF NOT EXISTS unread_notification_count INT;
+-- Per-user notification list / cursor paging
+CREATE INDEX IF NOT EXISTS idx_notification_user_time ON notification (user_id, created_at, id);
+-- Per-user conversation summary (inbox), maintained by ChatService
+CREATE TABLE IF NOT EXISTS chat_conversation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    partner_id BIGINT NOT NULL,
+    last_message_id BIGINT,
+    last_at TIMESTAMP,
+    unread_count INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_chat_conv_user_partner UNIQUE (user_id, partner_id)
+);
+CREATE INDEX IF NOT EXISTS idx_chat_conv_user_last ON chat_conversation (user_id, last_at, id);
+-- Denormalized follow counters (null = not initialised yet; FollowCountReconciliationJob rebuilds from user_follow)
+ALTER TABLE site_user ADD COLUMN IF NOT EXISTS following_count INT;
+ALTER TABLE site_user ADD COLUMN IF NOT EXISTS follower_count INT;
+CREATE INDEX IF NOT EXISTS idx_user_follow_followee ON user_follow (follow_id, follower_id);
+-- Ingredient price history (IngredientPriceRefreshJob)
+CREATE TABLE IF NOT EXISTS ingredient_price_snapshot (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    keyword VARCHAR(200) NOT NULL,
+    lowest_price INT NOT NULL,
+    product_title VARCHAR(500),
+    mall_name VARCHAR(200),
+    link VARCHAR(1000),
+    sample_size INT,
+    captured_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_price_snapshot_keyword_time ON ingredient_price_snapshot (keyword, captured_at, id);
+-- Completion markers for one-off startup migrations (MigrationMarkers)
+CREATE TABLE IF NOT EXISTS app_migration (
+    name VARCHAR(100) PRIMARY KEY,
+    completed_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,212 @@
+package com.example.BMN.Ingredient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 가격 비교 경로 부하 벤치마크 (실제 네이버 대신 NaverStubServer 사용)
+ *
+ * 기본 test 태스크에서는 제외되고 `./gradlew benchmark` 로만 실행된다.
+ * 시나리오별로 p50/p99 지연, 처리량, 업스트림 호출 수를 표로 출력한다.
+ *
+ * 조정 (-Dbench.xxx=...):
+ *   threads(16) requests(400) ingredients(15) keywords(40)
+ *   latencyMs(80) jitterMs(40) errorRate(0.02) concurrency(8) ratePerSecond(10000)
+ */
+@Tag("benchmark")
+class NaverShoppingBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 400);
+    private static final int INGREDIENTS = Integer.getInteger("bench.ingredients", 15);
+    private static final int KEYWORDS = Integer.getInteger("bench.keywords", 40);
+    private static final long LATENCY_MS = Long.getLong("bench.latencyMs", 80L);
+    private static final long JITTER_MS = Long.getLong("bench.jitterMs", 40L);
+    private static final double ERROR_RATE = Double.parseDouble(System.getProperty("bench.errorRate", "0.02"));
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 8);
+    private static final double RATE_PER_SECOND = Double.parseDouble(System.getProperty("bench.ratePerSecond", "10000"));
+
+    private static final String[] BASE_NAMES = {
+            "양파", "대파", "마늘", "감자", "당근", "애호박", "두부", "계란", "돼지고기", "소고기",
+            "닭가슴살", "고추장", "된장", "간장", "설탕", "참기름", "들기름", "버터", "우유", "치즈",
+            "김치", "콩나물", "시금치", "버섯", "새우", "오징어", "멸치", "다시마", "고춧가루", "식초"
+    };
+
+    private static NaverStubServer stub;
+    private static final List<String> report = new ArrayList<>();
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = NaverStubServer.start(LATENCY_MS, JITTER_MS, ERROR_RATE);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        if (stub != null) stub.close();
+        System.out.println();
+        System.out.printf(Locale.ROOT, "NaverShopping benchmark: threads=%d requests=%d ingredients/req=%d keywords=%d " +
+                        "latency=%d+%dms errorRate=%.2f%n",
+                THREADS, REQUESTS, INGREDIENTS, KEYWORDS, LATENCY_MS, JITTER_MS, ERROR_RATE);
+        System.out.printf(Locale.ROOT, "%-34s %9s %9s %9s %9s %10s %9s %9s%n",
+                "scenario", "req/s", "p50 ms", "p99 ms", "max ms", "upstream", "calls/req", "cache hit");
+        report.forEach(System.out::println);
+    }
+
+    /* ---------------- 시나리오 ---------------- */
+
+    @Test
+    void serviceSequentialNoCache() throws Exception {
+        runService("service seq(1) no-cache", 1, 0);
+    }
+
+    @Test
+    void serviceParallelNoCache() throws Exception {
+        runService("service par(" + CONCURRENCY + ") no-cache", CONCURRENCY, 0);
+    }
+
+    @Test
+    void serviceParallelCache() throws Exception {
+        runService("service par(" + CONCURRENCY + ") cache", CONCURRENCY, 600);
+    }
+
+    @Test
+    void endpointParallelCache() throws Exception {
+        PriceLookupCache cache = new PriceLookupCache(600, 5000);
+        NaverShoppingService service = newService(CONCURRENCY, cache);
+        // /compare 만 호출하므로 가격 기록 관련 의존성은 비워 둔다.
+        PriceCompareController controller = new PriceCompareController(
+                service, cache, new TokenBucketRateLimiter(RATE_PER_SECOND, (int) RATE_PER_SECOND, 5000), null, null);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        stub.resetCounters();
+        Result r = drive(ingredients -> {
+            MvcResult started = mvc.perform(post("/api/price/compare")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestJson(ingredients)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        });
+        record("POST /api/price/compare par(" + CONCURRENCY + ") cache", r, cache);
+    }
+
+    private void runService(String name, int concurrency, long ttlSeconds) throws Exception {
+        PriceLookupCache cache = new PriceLookupCache(ttlSeconds, 5000);
+        NaverShoppingService service = newService(concurrency, cache);
+        stub.resetCounters();
+        Result r = drive(ingredients -> {
+            var map = service.compareByIngredients(ingredients, 5, true).block();
+            assertThat(map).isNotNull();
+        });
+        record(name, r, cache);
+    }
+
+    /* ---------------- 부하 발생 / 집계 ---------------- */
+
+    private interface Call {
+        void run(List<String> ingredients) throws Exception;
+    }
+
+    private record Result(int requests, long wallNanos, long[] sortedLatencies, int failures) {}
+
+    private static NaverShoppingService newService(int concurrency, PriceLookupCache cache) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(RATE_PER_SECOND, (int) RATE_PER_SECOND, 5000);
+        return new NaverShoppingService(stub.baseUrl(), "bench-id", "bench-secret", concurrency, cache, limiter);
+    }
+
+    private static Result drive(Call call) throws Exception {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger issued = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                while (issued.getAndIncrement() < REQUESTS) {
+                    List<String> ingredients = pickIngredients();
+                    long t0 = System.nanoTime();
+                    try {
+                        call.run(ingredients);
+                    } catch (Throwable e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - t0);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        long wall = System.nanoTime() - started;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(sorted.length, wall, sorted, failures.get());
+    }
+
+    private static void record(String name, Result r, PriceLookupCache cache) {
+        double seconds = r.wallNanos() / 1e9;
+        long upstream = stub.calls();
+        String line = String.format(Locale.ROOT, "%-34s %9.1f %9.1f %9.1f %9.1f %10d %9.2f %8.0f%%",
+                name,
+                r.requests() / seconds,
+                percentile(r.sortedLatencies(), 0.50) / 1e6,
+                percentile(r.sortedLatencies(), 0.99) / 1e6,
+                (r.sortedLatencies().length == 0 ? 0 : r.sortedLatencies()[r.sortedLatencies().length - 1]) / 1e6,
+                upstream,
+                r.requests() == 0 ? 0.0 : (double) upstream / r.requests(),
+                cache.stats().hitRatio() * 100);
+        if (r.failures() > 0) line += "  failures=" + r.failures();
+        report.add(line);
+        assertThat(r.failures()).isZero();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+
+    /** 키워드 풀(bench.keywords 개)에서 요청마다 재료 bench.ingredients 개를 뽑는다. (캐시 재사용이 생기도록) */
+    private static List<String> pickIngredients() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        List<String> out = new ArrayList<>(INGREDIENTS);
+        for (int i = 0; i < INGREDIENTS; i++) {
+            int k = rnd.nextInt(Math.max(1, KEYWORDS));
+            String name = BASE_NAMES[k % BASE_NAMES.length];
+            out.add(k < BASE_NAMES.length ? name + " 1개" : name + (k / BASE_NAMES.length));
+        }
+        return out;
+    }
+
+    private static String requestJson(List<String> ingredients) {
+        StringBuilder sb = new StringBuilder("{\"perIngredient\":5,\"excludeUsed\":true,\"ingredients\":[");
+        for (int i = 0; i < ingredients.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append('"').append(ingredients.get(i).replace("\"", "\\\"")).append('"');
+        }
+        return sb.append("]}").toString();
+    }
+}
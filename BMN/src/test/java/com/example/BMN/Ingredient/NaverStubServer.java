@@ -0,0 +1,159 @@
+package com.example.BMN.Ingredient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 네이버 쇼핑 검색 API(/shop.json) 흉내를 내는 로컬 HTTP 서버 (테스트/벤치마크용)
+ *
+ * - 응답 지연: latencyMs + [0, jitterMs) 무작위
+ * - errorRate 확률로 500 응답
+ * - 상품 목록은 query 로부터 결정적으로 만든다. (같은 키워드 → 같은 가격)
+ * - 호출 수 / 에러 수를 세어서 캐시·병합 효과를 확인할 수 있게 한다.
+ */
+public final class NaverStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private NaverStubServer(long latencyMs, long jitterMs, double errorRate) throws IOException {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+        this.errorRate = Math.max(0, Math.min(1, errorRate));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 지연을 sleep 으로 흉내 내므로 동시 요청 수만큼 스레드를 넉넉히
+        this.executor = Executors.newFixedThreadPool(128);
+        this.server.setExecutor(executor);
+        this.server.createContext("/shop.json", this::handle);
+    }
+
+    public static NaverStubServer start(long latencyMs, long jitterMs, double errorRate) throws IOException {
+        NaverStubServer stub = new NaverStubServer(latencyMs, jitterMs, errorRate);
+        stub.server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public void resetCounters() {
+        calls.set(0);
+        errors.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        calls.incrementAndGet();
+        Map<String, String> params = parseQuery(ex.getRequestURI().getRawQuery());
+        String query = params.getOrDefault("query", "");
+        int display = parseInt(params.get("display"), 10);
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? rnd.nextLong(jitterMs) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (errorRate > 0 && rnd.nextDouble() < errorRate) {
+            errors.incrementAndGet();
+            write(ex, 500, "{\"errorMessage\":\"stub error\",\"errorCode\":\"SE99\"}");
+            return;
+        }
+        write(ex, 200, shopJson(query, Math.min(Math.max(display, 1), 100)));
+    }
+
+    /** query 로부터 결정적인 상품 목록 JSON */
+    static String shopJson(String query, int display) {
+        int base = 1000 + Math.floorMod(query.hashCode(), 9000);
+        StringBuilder sb = new StringBuilder(256 + display * 256);
+        sb.append("{\"lastBuildDate\":\"Mon, 01 Jan 2024 00:00:00 +0900\",\"total\":")
+          .append(display * 10).append(",\"start\":1,\"display\":").append(display).append(",\"items\":[");
+        String q = escape(query);
+        for (int i = 0; i < display; i++) {
+            if (i > 0) sb.append(',');
+            int price = base + ((i * 7919) % 13) * 150;
+            sb.append("{\"title\":\"<b>").append(q).append("</b> 상품 ").append(i + 1).append('"')
+              .append(",\"link\":\"https://example.com/p/").append(i).append('"')
+              .append(",\"image\":\"https://example.com/i/").append(i).append(".jpg\"")
+              .append(",\"lprice\":\"").append(price).append('"')
+              .append(",\"hprice\":\"\"")
+              .append(",\"mallName\":\"스텁몰").append(i % 5).append('"')
+              .append(",\"productId\":\"").append(Math.floorMod(query.hashCode(), 100000)).append(i).append('"')
+              .append(",\"productType\":\"1\",\"brand\":\"\",\"maker\":\"\"")
+              .append(",\"category1\":\"식품\",\"category2\":\"\",\"category3\":\"\",\"category4\":\"\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static void write(HttpExchange ex, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> out = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return out;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String k = eq < 0 ? pair : pair.substring(0, eq);
+            String v = eq < 0 ? "" : pair.substring(eq + 1);
+            out.put(URLDecoder.decode(k, StandardCharsets.UTF_8), URLDecoder.decode(v, StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return s == null ? def : Integer.parseInt(s.trim()); }
+        catch (NumberFormatException e) { return def; }
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
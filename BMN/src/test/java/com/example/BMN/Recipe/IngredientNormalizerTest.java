@@ -0,0 +1,94 @@
+package com.example.BMN.Recipe;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 번 훑기 구현이 기존 정규식 구현과 같은 결과를 내는지 확인한다.
+ * (legacy* 는 IngredientNormalizerBenchmark 의 비교용 구현과 같은 코드)
+ */
+class IngredientNormalizerTest {
+
+    // 단위/괄호/대소문자/탭·줄바꿈/자모 분리/U+2028/이모지 등 경계 입력
+    private static final String[] CASES = {
+            "", " ", "\t", "양파", "대파 1대", "  다진 마늘 2큰술 ", "간장 3 큰술", "설탕 1/2작은술",
+            "돼지고기(목살) 300g", "양파 1/2개(다진 것)", "우유 200ml", "물 1L", "물 1l", "밥 1컵",
+            "소고기 1kg", "소고기 1gkg", "1 g", "12  kg", "3\t큰술", "2개반", "g", "100",
+            "Olive Oil", "MOZZARELLA Cheese 100g", "청양고추*2", "소금 약간", "후추, 약간",
+            "(괄호만)", "((중첩) 괄호)", "닫히지 않은 (괄호", "앞) 뒤 (", "(a)(b)(c)",
+            "괄호 (줄\n바꿈) 뒤", "괄호 (줄\r바꿈)", "괄호 ( ) 뒤", "괄호 (\u0085) 뒤", "( )",
+            "탭\t구분", "탭\t\t두 칸", "a\t-b", "a -\tb", "줄\n바꿈", "세로\u000B탭", "폼\f피드",
+            "\u2028줄 구분자\u2028", "nbsp\u00A0공백", "전각\u3000공백",
+            "\u1100\u1161\u110C\u1175", "\u1112\u1161\u11AB\u110B\u116E", "\u1100", "가\u0301",
+            "🙂", "김치🙂찌개", "a😀b", "a😀\tb", "\uD83D", "ß", "İstanbul", "\uFF2B", "\u212A",
+            "\u0001a\u0001", " \u0001 a", "-", "---", "!!!", "  !  ", "\u2460\u2461", "\uFF11\uFF12\uFF13g"
+    };
+
+    @Test
+    void normalizeOneMatchesLegacyOnEdgeCases() {
+        for (String s : CASES) {
+            assertThat(IngredientNormalizer.normalizeOneUncached(s)).as("normalizeOne(%s)", s)
+                    .isEqualTo(legacyNormalizeOne(s));
+        }
+    }
+
+    @Test
+    void searchKeywordMatchesLegacyOnEdgeCases() {
+        for (String s : CASES) {
+            assertThat(IngredientNormalizer.searchKeywordUncached(s)).as("searchKeyword(%s)", s)
+                    .isEqualTo(legacySearchKeyword(s));
+        }
+    }
+
+    @Test
+    void matchesLegacyOnRandomInputs() {
+        String alphabet = "양파마늘가지 0123456789gkmlL개큰술작은컵()\t\n\r\u000B\f\u0085\u2028\u00A0"
+                + "\u1100\u1161\u11ABAaZz-*/,.!🙂";
+        int[] cps = alphabet.codePoints().toArray();
+        Random random = new Random(20250101L);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int len = random.nextInt(16);
+            for (int i = 0; i < len; i++) sb.appendCodePoint(cps[random.nextInt(cps.length)]);
+            String s = sb.toString();
+            assertThat(IngredientNormalizer.normalizeOneUncached(s)).as("normalizeOne(%s)", s)
+                    .isEqualTo(legacyNormalizeOne(s));
+            assertThat(IngredientNormalizer.searchKeywordUncached(s)).as("searchKeyword(%s)", s)
+                    .isEqualTo(legacySearchKeyword(s));
+        }
+    }
+
+    @Test
+    void memoizedResultsMatchUncached() {
+        for (String s : CASES) {
+            assertThat(IngredientNormalizer.normalizeOne(s)).isEqualTo(IngredientNormalizer.normalizeOneUncached(s));
+            assertThat(IngredientNormalizer.searchKeyword(s)).isEqualTo(IngredientNormalizer.searchKeywordUncached(s));
+        }
+        assertThat(IngredientNormalizer.normalizeOne(null)).isEmpty();
+        assertThat(IngredientNormalizer.searchKeyword(null)).isEmpty();
+    }
+
+    /* ---------------- 기존 구현 ---------------- */
+
+    private static String legacyNormalizeOne(String raw) {
+        if (raw == null) return "";
+        String s = raw.trim().toLowerCase();
+        s = Normalizer.normalize(s, Normalizer.Form.NFC);
+        s = s.replaceAll("[^0-9a-z가-힣\\s]", "");
+        s = s.replaceAll("\\s+", " ");
+        return s.trim();
+    }
+
+    private static String legacySearchKeyword(String ingredient) {
+        String s = ingredient.replaceAll("\\(.*?\\)", " ")
+                .replaceAll("\\d+\\s*(g|kg|ml|L|개|큰술|작은술|컵)", " ")
+                .replaceAll("[^가-힣a-zA-Z0-9\\s]", " ")
+                .replaceAll("\\s{2,}", " ")
+                .trim();
+        return s.isBlank() ? ingredient : s;
+    }
+}
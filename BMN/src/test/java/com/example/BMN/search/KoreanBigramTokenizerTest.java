@@ -0,0 +1,55 @@
+package com.example.BMN.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KoreanBigramTokenizerTest {
+
+    @Test
+    void hangulRunsBecomeOverlappingBigrams() {
+        assertThat(KoreanBigramTokenizer.tokenize("김치찌개")).containsExactly("김치", "치찌", "찌개");
+    }
+
+    @Test
+    void singleSyllableRunIsKeptAsIs() {
+        assertThat(KoreanBigramTokenizer.tokenize("국")).containsExactly("국");
+        assertThat(KoreanBigramTokenizer.tokenize("밥 한 공기")).containsExactly("밥", "한", "공기");
+    }
+
+    @Test
+    void latinWordsAreLowercasedAndSymbolsSplit() {
+        assertThat(KoreanBigramTokenizer.tokenize("Kimchi-Fried Rice!")).containsExactly("kimchi", "fried", "rice");
+        assertThat(KoreanBigramTokenizer.tokenize("된장국2인분")).containsExactly("된장", "장국", "2", "인분");
+    }
+
+    @Test
+    void decomposedJamoAreComposedFirst() {
+        // ᄀ + ᅡ + ᄌ + ᅵ → 가지
+        assertThat(KoreanBigramTokenizer.tokenize("\u1100\u1161\u110C\u1175")).containsExactly("가지");
+    }
+
+    @Test
+    void nullAndBlankYieldNoTokens() {
+        assertThat(KoreanBigramTokenizer.tokenize(null)).isEmpty();
+        assertThat(KoreanBigramTokenizer.tokenize(" \t🙂 ")).isEmpty();
+    }
+
+    @Test
+    void indexTokensAddHangulUnigrams() {
+        assertThat(KoreanBigramTokenizer.tokenizeForIndex("된장국"))
+                .containsExactly("된장", "장국", "된", "장", "국");
+        // 한 글자 구간은 중복해서 넣지 않는다.
+        assertThat(KoreanBigramTokenizer.tokenizeForIndex("국")).containsExactly("국");
+    }
+
+    @Test
+    void indexTokensAddLatinPrefixes() {
+        assertThat(KoreanBigramTokenizer.tokenizeForIndex("Kimchi"))
+                .containsExactly("kimchi", "k", "ki", "kim", "kimc", "kimch");
+        assertThat(KoreanBigramTokenizer.tokenizeForIndex("abcdefghijklmn"))
+                .hasSize(1 + 10)
+                .contains("abcdefghij")
+                .doesNotContain("abcdefghijk");
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.BMN.search;
+
+import com.example.BMN.Recipe.RecipeIngredientRepository;
+import com.example.BMN.Recipe.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** 저장소는 빈 목으로 두고 put 으로 넣은 문서만으로 검색/순위를 확인한다. */
+class RecipeSearchIndexTest {
+
+    private RecipeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeSearchIndex(mock(RecipeRepository.class), mock(RecipeIngredientRepository.class));
+        index.rebuild();
+    }
+
+    private List<Long> search(String q) {
+        return index.search(q, PageRequest.of(0, 20)).getContent();
+    }
+
+    @Test
+    void oneSyllableQueryMatchesInsideWords() {
+        index.put(1L, "된장국", "구수한 맛", List.of("된장", "두부"));
+        index.put(2L, "김치볶음밥", "간단한 한 끼", List.of("김치", "밥"));
+
+        assertThat(search("국")).containsExactly(1L);
+        assertThat(search("밥")).containsExactly(2L);
+    }
+
+    @Test
+    void latinPrefixMatchesLongerWord() {
+        index.put(1L, "Kimchi fried rice", null, List.of("kimchi"));
+        index.put(2L, "Bulgogi", null, List.of("beef"));
+
+        assertThat(search("kim")).containsExactly(1L);
+        assertThat(search("KIMCHI")).containsExactly(1L);
+    }
+
+    @Test
+    void subjectMatchOutranksDescriptionMatch() {
+        index.put(1L, "된장찌개", "두부를 넣는다", List.of("두부"));
+        index.put(2L, "계란말이", "된장찌개와 함께 먹는 반찬", List.of("계란"));
+
+        assertThat(search("된장찌개")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ingredientMatchOutranksDescriptionMatch() {
+        index.put(1L, "비빔밥", "고추장을 넣어 비빈다", List.of("밥", "나물"));
+        index.put(2L, "나물무침", "비빔밥에도 좋다", List.of("고추장", "참기름"));
+
+        assertThat(search("고추장")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void mostQueryTermsMustMatch() {
+        index.put(1L, "김치찌개", null, List.of("김치", "돼지고기"));
+        index.put(2L, "김밥", null, List.of("김", "밥"));
+
+        // "김치찌개" → 김치, 치찌, 찌개: 2번 문서는 하나도 맞지 않는다.
+        assertThat(search("김치찌개")).containsExactly(1L);
+    }
+
+    @Test
+    void equalScoresPreferNewerId() {
+        index.put(1L, "감자조림", null, List.of("감자"));
+        index.put(2L, "감자조림", null, List.of("감자"));
+
+        assertThat(search("감자조림")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void removeAndReplaceUpdateResults() {
+        index.put(1L, "감자전", null, List.of("감자"));
+        index.put(2L, "감자볶음", null, List.of("감자"));
+        index.remove(1L);
+        index.put(2L, "고구마맛탕", null, List.of("고구마"));
+
+        assertThat(search("감자")).isEmpty();
+        assertThat(search("고구마")).containsExactly(2L);
+    }
+
+    @Test
+    void pagingKeepsGlobalOrder() {
+        for (long id = 1; id <= 5; id++) index.put(id, "두부조림 " + id, null, List.of("두부"));
+
+        var first = index.search("두부", PageRequest.of(0, 2));
+        var second = index.search("두부", PageRequest.of(1, 2));
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(first.getContent()).containsExactly(5L, 4L);
+        assertThat(second.getContent()).containsExactly(3L, 2L);
+    }
+}